@@ -0,0 +1,120 @@
+package com.schedular.benchmark;
+
+import com.schedular.engine.ConcurrentGreedyEngine;
+import com.schedular.engine.GreedyAssigner;
+import com.schedular.engine.LocalSearchOptimizer;
+import com.schedular.engine.MinCostFlowEngine;
+import com.schedular.engine.MultiStartSolver;
+import com.schedular.engine.ScheduleKernel;
+import com.schedular.engine.SchedulingProblem;
+import com.schedular.engine.SolveMonitor;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pure in-memory benchmarks of the assignment core, no Spring or database involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EngineBenchmark {
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int employees;
+
+    @Param({"UNIFORM", "MORNING_HEAVY", "IDENTICAL"})
+    public Population.Skew skew;
+
+    private int[][] rankings;
+    private SchedulingProblem problem;
+    private ScheduleKernel afterGreedy;
+    private MultiStartSolver solver;
+    private final MinCostFlowEngine flowEngine = new MinCostFlowEngine();
+    private ConcurrentGreedyEngine parallelGreedy;
+    private Random rng;
+    private int[] order;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        rankings = Population.rankings(employees, skew, 42);
+        problem = Population.problem(rankings, employees);
+        order = new int[employees];
+        for (int e = 0; e < employees; e++) order[e] = e;
+        afterGreedy = new ScheduleKernel(problem);
+        GreedyAssigner.assignPreferences(afterGreedy);
+        solver = new MultiStartSolver(Runtime.getRuntime().availableProcessors(), 8, Duration.ofSeconds(2),
+                new LocalSearchOptimizer(200_000, Duration.ofMillis(500), 1.0));
+        parallelGreedy = new ConcurrentGreedyEngine(Runtime.getRuntime().availableProcessors(), 8192);
+        rng = new Random(7);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        solver.close();
+        parallelGreedy.close();
+    }
+
+    /** Building the engine input from ranked rows, i.e. the in-memory half of preference loading. */
+    @Benchmark
+    public SchedulingProblem loadPreferences() {
+        return Population.problem(rankings, employees);
+    }
+
+    @Benchmark
+    public ScheduleKernel newKernel() {
+        return new ScheduleKernel(problem);
+    }
+
+    @Benchmark
+    public ScheduleKernel greedyPass() {
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        GreedyAssigner.assignPreferences(kernel);
+        return kernel;
+    }
+
+    @Benchmark
+    public ScheduleKernel parallelGreedyPass() {
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        parallelGreedy.assignPreferences(kernel, order, SolveMonitor.NONE);
+        return kernel;
+    }
+
+    /** Backfill on top of a greedy result; includes one kernel copy, see {@link #copyKernel}. */
+    @Benchmark
+    public ScheduleKernel ensureMinimumStaffing() {
+        ScheduleKernel kernel = afterGreedy.copy();
+        GreedyAssigner.ensureMinimumStaffing(kernel, rng);
+        return kernel;
+    }
+
+    @Benchmark
+    public ScheduleKernel copyKernel() {
+        return afterGreedy.copy();
+    }
+
+    /** Backfilling every seat of an empty week, the worst case for candidate selection. */
+    @Benchmark
+    public ScheduleKernel ensureMinimumStaffingFromEmpty() {
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        GreedyAssigner.ensureMinimumStaffing(kernel, rng);
+        return kernel;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ScheduleKernel multiStartSolve() {
+        return solver.solve(problem, 42);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public ScheduleKernel minCostFlowSolve() {
+        return flowEngine.solve(problem, 42);
+    }
+}
@@ -0,0 +1,129 @@
+package com.schedular.benchmark;
+
+import com.schedular.DomainApplication;
+import com.schedular.domain.PackedPreferences;
+import com.schedular.service.EmployeeImportService;
+import com.schedular.service.EngineType;
+import com.schedular.service.GenerationMonitor;
+import com.schedular.service.SchedulingService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+
+/**
+ * End-to-end benchmarks through the real Spring context and an in-memory H2 database:
+ * JPA loading, the solver and batched persistence together.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PersistenceBenchmark {
+
+    private static final String[] DAY_NAMES = {"MON", "TUE", "WED", "THU", "FRI", "SAT", "SUN"};
+    private static final String[] SHIFT_NAMES = {"MORNING", "AFTERNOON", "EVENING"};
+
+    @Param({"10", "1000", "10000", "100000"})
+    public int employees;
+
+    @Param({"UNIFORM", "MORNING_HEAVY", "IDENTICAL"})
+    public Population.Skew skew;
+
+    private ConfigurableApplicationContext context;
+    private SchedulingService schedulingService;
+    private EmployeeImportService importService;
+    private byte[] importCsv;
+    private long seed;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DomainApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(Map.of(
+                        "spring.datasource.url", "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.h2.console.enabled", "false",
+                        "logging.level.root", "WARN"))
+                .run();
+        schedulingService = context.getBean(SchedulingService.class);
+        importService = context.getBean(EmployeeImportService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        importCsv = importCsv();
+    }
+
+    /** The seeded rankings as an import upload: one record per employee-day. */
+    private byte[] importCsv() {
+        int[][] rankings = Population.rankings(employees, skew, 43);
+        StringBuilder csv = new StringBuilder("name,day,first,second,third\n");
+        for (int e = 0; e < employees; e++) {
+            for (int day = 0; day < DAYS; day++) {
+                csv.append("Employee ").append(e).append(',').append(DAY_NAMES[day]);
+                for (int shift : rankings[e * DAYS + day]) csv.append(',').append(SHIFT_NAMES[shift]);
+                csv.append('\n');
+            }
+        }
+        return csv.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.update("UPDATE published_schedule SET version_id = 0");
+        jdbc.update("DELETE FROM schedule_version");
+        jdbc.update("DELETE FROM shift_assignment");
+        jdbc.update("DELETE FROM employee");
+
+        int[][] rankings = Population.rankings(employees, skew, 42);
+        List<Object[]> people = new ArrayList<>(employees);
+        for (int e = 0; e < employees; e++) {
+            long packed = PackedPreferences.NONE;
+            for (int day = 0; day < DAYS; day++) {
+                int[] ranked = rankings[e * DAYS + day];
+                for (int rank = 0; rank < ranked.length; rank++) {
+                    packed = PackedPreferences.withShiftAt(packed, day, rank, ranked[rank]);
+                }
+            }
+            people.add(new Object[]{"Employee " + e, packed});
+        }
+        jdbc.batchUpdate("INSERT INTO employee (name, preferences) VALUES (?, ?)", people);
+    }
+
+    /** A fresh seed every call, so the solve and rewrite always run. */
+    @Benchmark
+    public void generateSchedule() {
+        schedulingService.generateSchedule(EngineType.GREEDY, ++seed, GenerationMonitor.NONE);
+    }
+
+    /** Same input and seed as the previous call: only loading and fingerprinting run. */
+    @Benchmark
+    public void regenerateUnchanged() {
+        schedulingService.generateSchedule(EngineType.GREEDY, 0, GenerationMonitor.NONE);
+    }
+
+    /** Re-imports every employee's week: name lookups, then one update batch per chunk. */
+    @Benchmark
+    public Object importPreferences() throws IOException {
+        return importService.importEmployees(new ByteArrayInputStream(importCsv), EmployeeImportService.Format.CSV);
+    }
+
+    @Benchmark
+    public Object getPreferencesByEmployee() {
+        return schedulingService.getPreferencesByEmployee();
+    }
+}
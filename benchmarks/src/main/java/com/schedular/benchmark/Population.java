@@ -0,0 +1,69 @@
+package com.schedular.benchmark;
+
+import com.schedular.engine.PreferenceTable;
+import com.schedular.engine.SchedulingProblem;
+
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Synthetic, seeded employee populations for the benchmarks.
+ */
+public final class Population {
+
+    /** How first choices are distributed across shifts. */
+    public enum Skew {
+        /** Every shift equally likely as first choice. */
+        UNIFORM,
+        /** 80% of first choices are MORNING, the rest split evenly. */
+        MORNING_HEAVY,
+        /** Everybody ranks MORNING > AFTERNOON > EVENING, the most contended case. */
+        IDENTICAL
+    }
+
+    static final int SHIFT_CAPACITY = 2;
+    static final int MIN_EMPLOYEES_PER_SHIFT = 2;
+    static final int MAX_DAYS_PER_EMPLOYEE = 5;
+
+    private Population() {}
+
+    /**
+     * Full rankings as (employee, day) -> shifts in rank order, the shape stored as preference rows.
+     */
+    public static int[][] rankings(int employees, Skew skew, long seed) {
+        Random rng = new Random(seed);
+        int[][] ranked = new int[employees * DAYS][];
+        for (int e = 0; e < employees; e++) {
+            for (int day = 0; day < DAYS; day++) {
+                int first = firstChoice(skew, rng);
+                int second = (first + 1 + rng.nextInt(SHIFTS - 1)) % SHIFTS;
+                int third = SHIFTS - first - second;
+                ranked[e * DAYS + day] = new int[]{first, second, third};
+            }
+        }
+        return ranked;
+    }
+
+    public static SchedulingProblem problem(int[][] rankings, int employees) {
+        PreferenceTable table = new PreferenceTable(employees);
+        long[] ids = new long[employees];
+        for (int e = 0; e < employees; e++) {
+            ids[e] = e + 1;
+            for (int day = 0; day < DAYS; day++) {
+                for (int shift : rankings[e * DAYS + day]) table.prefer(e, day, shift);
+            }
+        }
+        return new SchedulingProblem(ids, table.toRankings(),
+                SHIFT_CAPACITY, MIN_EMPLOYEES_PER_SHIFT, MAX_DAYS_PER_EMPLOYEE);
+    }
+
+    private static int firstChoice(Skew skew, Random rng) {
+        return switch (skew) {
+            case UNIFORM -> rng.nextInt(SHIFTS);
+            case MORNING_HEAVY -> rng.nextInt(10) < 8 ? 0 : 1 + rng.nextInt(SHIFTS - 1);
+            case IDENTICAL -> 0;
+        };
+    }
+}
@@ -0,0 +1,120 @@
+package com.schedular.benchmark;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+import com.schedular.service.PreferenceCard;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.data.domain.PageImpl;
+import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.context.Context;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.spring6.expression.ThymeleafEvaluationContext;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Server-side rendering of one page of preference cards through Thymeleaf with the Spring
+ * expression dialect, no web server involved. {@code NESTED} is the former template over
+ * employeeId -> day -> rank maps; {@code FLAT} is the app's {@code preferences :: cards}
+ * fragment over {@link PreferenceCard}s. {@code cache=false} re-parses the template on every
+ * render, as {@code spring.thymeleaf.cache=false} used to do outside the dev profile.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RenderBenchmark {
+
+    public enum Model { NESTED, FLAT }
+
+    @Param({"20", "100"})
+    public int cards;
+
+    @Param({"NESTED", "FLAT"})
+    public Model model;
+
+    @Param({"true", "false"})
+    public boolean cache;
+
+    private SpringTemplateEngine engine;
+    private TemplateSpec template;
+    private Context context;
+
+    /** The shape of an employee the nested template reads. */
+    public record Employee(Long id, String name) {}
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        resolver.setCacheable(cache);
+        engine = new SpringTemplateEngine();
+        engine.setTemplateResolver(resolver);
+
+        int[][] rankings = Population.rankings(cards, Population.Skew.UNIFORM, 44);
+        context = new Context();
+        // As in the app: one evaluation context shared by every expression of a render.
+        GenericApplicationContext beans = new GenericApplicationContext();
+        beans.refresh();
+        context.setVariable(ThymeleafEvaluationContext.THYMELEAF_EVALUATION_CONTEXT_CONTEXT_VARIABLE_NAME,
+                new ThymeleafEvaluationContext(beans, null));
+        context.setVariable("shifts", Shift.values());
+        if (model == Model.NESTED) {
+            template = new TemplateSpec("preferences-nested", TemplateMode.HTML);
+            List<Employee> employees = new ArrayList<>();
+            Map<Long, Map<String, Map<Integer, String>>> existing = new HashMap<>();
+            for (int e = 0; e < cards; e++) {
+                Employee employee = new Employee(e + 1L, "Employee " + e);
+                employees.add(employee);
+                Map<String, Map<Integer, String>> byDay = new HashMap<>();
+                for (Day day : Day.values()) {
+                    Map<Integer, String> byRank = new HashMap<>();
+                    int[] ranked = rankings[e * DAYS + day.ordinal()];
+                    for (int rank = 0; rank < ranked.length; rank++) {
+                        byRank.put(rank + 1, Shift.values()[ranked[rank]].name());
+                    }
+                    byDay.put(day.name(), byRank);
+                }
+                existing.put(employee.id(), byDay);
+            }
+            context.setVariable("employees", employees);
+            context.setVariable("days", Day.values());
+            context.setVariable("existingPrefs", existing);
+        } else {
+            template = new TemplateSpec("preferences", Set.of("cards"), TemplateMode.HTML, null);
+            List<PreferenceCard> page = new ArrayList<>();
+            for (int e = 0; e < cards; e++) {
+                byte[] choices = new byte[DAYS * SHIFTS];
+                for (Day day : Day.values()) {
+                    int[] ranked = rankings[e * DAYS + day.ordinal()];
+                    for (int rank = 0; rank < ranked.length; rank++) {
+                        choices[PreferenceCard.slot(day, rank + 1)] = (byte) ranked[rank];
+                    }
+                }
+                page.add(new PreferenceCard(e + 1L, "Employee " + e, "/preferences/" + (e + 1), choices));
+            }
+            context.setVariable("cards", new PageImpl<>(page));
+            context.setVariable("rows", PreferenceCard.ROWS);
+        }
+    }
+
+    @Benchmark
+    public String renderCards() {
+        return engine.process(template, context);
+    }
+}
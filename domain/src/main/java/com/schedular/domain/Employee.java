@@ -1,11 +1,21 @@
 package com.schedular.domain;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.util.List;
 
 @Entity
 @Table(name = "employee")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Employee.CACHE_REGION)
 public class Employee {
 
+    /** Second-level cache region; bounded in {@code caffeine.conf}. */
+    public static final String CACHE_REGION = "employee";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -13,6 +23,11 @@ public class Employee {
     @Column(nullable=false, unique=true)
     private String name;
 
+    /** Ranked shifts for the whole week, see {@link PackedPreferences}. */
+    @Column(nullable=false)
+    @ColumnDefault("0")
+    private long preferences;
+
     public Employee() {}
 
     public Employee(String name) {
@@ -21,7 +36,19 @@ public class Employee {
 
     public Long getId() { return id; }
     public String getName() { return name; }
+    public long getPreferences() { return preferences; }
 
     public void setId(Long id) { this.id = id; }
     public void setName(String name) { this.name = name; }
+    public void setPreferences(long preferences) { this.preferences = preferences; }
+
+    /** The day's ranked shifts, best first. */
+    public List<Shift> getRanking(Day day) {
+        return PackedPreferences.ranking(preferences, day);
+    }
+
+    /** Replaces the day's ranking; no shifts clears it. */
+    public void prefer(Day day, Shift... ranked) {
+        preferences = PackedPreferences.withDay(preferences, day, List.of(ranked));
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+package com.schedular.domain;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An employee's ranked shifts for the whole week in one {@code long}: two bits per
+ * (day, rank) slot, slot {@code day * 3 + rank} with rank 0 the first choice. A slot holds
+ * the shift's ordinal plus one, or 0 when nothing is ranked there; 21 slots use 42 bits.
+ * The same layout is stored in {@code employee.preferences} and used by the solver.
+ */
+public final class PackedPreferences {
+
+    public static final long NONE = 0L;
+
+    private static final int RANKS = Shift.values().length;
+    private static final int DAYS = Day.values().length;
+    private static final long LOW_BITS = 0x5555555555555555L;
+
+    private PackedPreferences() {}
+
+    private static int offset(int day, int rank) {
+        return (day * RANKS + rank) << 1;
+    }
+
+    /** Shift ordinal at the slot (rank 0 = first choice), or -1 when none is ranked. */
+    public static int shiftAt(long packed, int day, int rank) {
+        return (int) (packed >>> offset(day, rank) & 3) - 1;
+    }
+
+    /** Sets the slot to the shift ordinal, or clears it when {@code shift} is -1. */
+    public static long withShiftAt(long packed, int day, int rank, int shift) {
+        int offset = offset(day, rank);
+        return packed & ~(3L << offset) | (long) (shift + 1) << offset;
+    }
+
+    /** The shift ranked at {@code rank} (1 = first choice) on the day, or null. */
+    public static Shift shift(long packed, Day day, int rank) {
+        int shift = shiftAt(packed, day.ordinal(), rank - 1);
+        return shift < 0 ? null : Shift.values()[shift];
+    }
+
+    /** The day's ranked shifts, best first; empty when the day has no preferences. */
+    public static List<Shift> ranking(long packed, Day day) {
+        List<Shift> ranked = new ArrayList<>(RANKS);
+        for (int rank = 0; rank < RANKS; rank++) {
+            int shift = shiftAt(packed, day.ordinal(), rank);
+            if (shift >= 0) ranked.add(Shift.values()[shift]);
+        }
+        return ranked;
+    }
+
+    /** Replaces the day's ranking with {@code ranked}, best first; other days are kept. */
+    public static long withDay(long packed, Day day, List<Shift> ranked) {
+        if (ranked.size() > RANKS) {
+            throw new IllegalArgumentException("At most " + RANKS + " shifts can be ranked");
+        }
+        for (int rank = 0; rank < RANKS; rank++) {
+            int shift = rank < ranked.size() ? ranked.get(rank).ordinal() : -1;
+            packed = withShiftAt(packed, day.ordinal(), rank, shift);
+        }
+        return packed;
+    }
+
+    /** Number of ranked slots across the week. */
+    public static int count(long packed) {
+        return Long.bitCount((packed | packed >>> 1) & LOW_BITS & (1L << offset(DAYS, 0)) - 1);
+    }
+}
@@ -0,0 +1,34 @@
+package com.schedular.domain;
+
+import jakarta.persistence.*;
+
+/**
+ * Single-row pointer to the schedule version readers see. Writers lock this row while
+ * they build the next version and move it in the same transaction, so the switch becomes
+ * visible exactly at commit. The row is seeded at startup pointing at version 0 (rows never
+ * versioned), so even the first publish has a row to lock.
+ */
+@Entity
+@Table(name = "published_schedule")
+public class PublishedSchedule {
+
+    public static final int ID = 1;
+
+    @Id
+    private Integer id = ID;
+
+    @Column(name="version_id", nullable=false)
+    private Long versionId;
+
+    public PublishedSchedule() {}
+
+    public PublishedSchedule(Long versionId) {
+        this.versionId = versionId;
+    }
+
+    public Integer getId() { return id; }
+    public Long getVersionId() { return versionId; }
+
+    public void setId(Integer id) { this.id = id; }
+    public void setVersionId(Long versionId) { this.versionId = versionId; }
+}
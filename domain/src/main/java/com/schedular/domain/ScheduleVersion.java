@@ -0,0 +1,33 @@
+package com.schedular.domain;
+
+import jakarta.persistence.*;
+
+import java.time.Instant;
+
+/**
+ * One immutable revision of the schedule. Assignment rows belong to every version from
+ * the one that inserted them up to, but excluding, the one that ended them.
+ */
+@Entity
+@Table(name = "schedule_version")
+public class ScheduleVersion {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name="created_at", nullable=false)
+    private Instant createdAt;
+
+    public ScheduleVersion() {}
+
+    public ScheduleVersion(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Long getId() { return id; }
+    public Instant getCreatedAt() { return createdAt; }
+
+    public void setId(Long id) { this.id = id; }
+    public void setCreatedAt(Instant createdAt) { this.createdAt = createdAt; }
+}
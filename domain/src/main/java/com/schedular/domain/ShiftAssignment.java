@@ -2,12 +2,18 @@ package com.schedular.domain;
 
 import jakarta.persistence.*;
 
+/**
+ * One employee-day of the schedule, part of every version in [versionFrom, versionTo).
+ * Rows are never changed once published; a new version ends them and inserts replacements.
+ */
 @Entity
-@Table(name = "shift_assignment")
+@Table(name = "shift_assignment", indexes = @Index(columnList = "version_to"))
 public class ShiftAssignment {
 
+    // Pooled sequence ids (unlike IDENTITY) let Hibernate batch the inserts of a generated schedule.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shift_assignment_seq")
+    @SequenceGenerator(name = "shift_assignment_seq", sequenceName = "shift_assignment_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(optional=false)
@@ -22,12 +28,23 @@ public class ShiftAssignment {
     @Column(name="shift_name", nullable=false)
     private Shift shift;
 
+    @Column(name="version_from", nullable=false)
+    private long versionFrom;
+
+    @Column(name="version_to")
+    private Long versionTo;
+
     public ShiftAssignment() {}
 
     public ShiftAssignment(Employee employee, Day day, Shift shift) {
+        this(employee, day, shift, 0);
+    }
+
+    public ShiftAssignment(Employee employee, Day day, Shift shift, long versionFrom) {
         this.employee = employee;
         this.day = day;
         this.shift = shift;
+        this.versionFrom = versionFrom;
     }
 
 
@@ -35,9 +52,13 @@ public class ShiftAssignment {
     public Employee getEmployee() { return employee; }
     public Day getDay() { return day; }
     public Shift getShift() { return shift; }
+    public long getVersionFrom() { return versionFrom; }
+    public Long getVersionTo() { return versionTo; }
 
     public void setId(Long id) { this.id = id; }
     public void setEmployee(Employee employee) { this.employee = employee; }
     public void setDay(Day day) { this.day = day; }
     public void setShift(Shift shift) { this.shift = shift; }
+    public void setVersionFrom(long versionFrom) { this.versionFrom = versionFrom; }
+    public void setVersionTo(Long versionTo) { this.versionTo = versionTo; }
 }
\ No newline at end of file
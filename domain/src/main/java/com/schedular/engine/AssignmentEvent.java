@@ -0,0 +1,60 @@
+package com.schedular.engine;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event for one assignment made by a greedy pass or backfill. Sampled by
+ * employee: only every {@value #SAMPLE_EVERY}th employee index emits, so a sampled employee's
+ * whole week is recorded. Every multi-start pass emits, not only the one that wins. With the
+ * event disabled an assignment costs a mask test and, for sampled employees, an enabled check.
+ */
+@Name("com.schedular.Assignment")
+@Label("Shift Assignment")
+@Category({"Scheduler", "Engine"})
+@Description("A sampled assignment with the preference rank it used")
+@StackTrace(false)
+final class AssignmentEvent extends Event {
+
+    static final int SAMPLE_EVERY = 16;
+
+    @Label("Employee Id")
+    long employeeId;
+
+    @Label("Day")
+    String day;
+
+    @Label("Shift")
+    String shift;
+
+    @Label("Rank")
+    @Description("Rank of the shift in the employee's preferences for the day, 0 = first choice")
+    int rank;
+
+    @Label("Spilled")
+    @Description("The day's ranked shifts were full, so the greedy pass moved on to this later day")
+    boolean spilled;
+
+    @Label("Backfill")
+    @Description("Made at random to reach minimum staffing rather than from preferences")
+    boolean backfill;
+
+    static void emit(SchedulingProblem problem, int employee, int day, int shift, boolean spilled, boolean backfill) {
+        if ((employee & (SAMPLE_EVERY - 1)) != 0) return;
+        AssignmentEvent event = new AssignmentEvent();
+        if (!event.shouldCommit()) return;
+        event.employeeId = problem.employeeId(employee);
+        event.day = Day.values()[day].name();
+        event.shift = Shift.values()[shift].name();
+        event.rank = problem.rankOf(employee, day, shift);
+        event.spilled = spilled;
+        event.backfill = backfill;
+        event.commit();
+    }
+}
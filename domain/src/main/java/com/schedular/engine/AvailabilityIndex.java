@@ -0,0 +1,67 @@
+package com.schedular.engine;
+
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+
+/**
+ * Per-day sparse set of employees that can still take a shift that day.
+ * Membership test, insertion, removal and uniform random pick are all O(1).
+ */
+final class AvailabilityIndex {
+
+    private static final int ABSENT = -1;
+
+    private final int employeeCount;
+    private final int[] members;   // day * n + i -> employee, dense for i < sizes[day]
+    private final int[] positions; // day * n + employee -> index into members, or ABSENT
+    private final int[] sizes;
+
+    /** Starts with every employee available on every day. */
+    AvailabilityIndex(int employeeCount) {
+        this.employeeCount = employeeCount;
+        this.members = new int[DAYS * employeeCount];
+        this.positions = new int[DAYS * employeeCount];
+        this.sizes = new int[DAYS];
+        for (int day = 0; day < DAYS; day++) {
+            int base = day * employeeCount;
+            for (int e = 0; e < employeeCount; e++) {
+                members[base + e] = e;
+                positions[base + e] = e;
+            }
+            sizes[day] = employeeCount;
+        }
+    }
+
+    boolean contains(int day, int employee) {
+        return positions[day * employeeCount + employee] != ABSENT;
+    }
+
+    int size(int day) {
+        return sizes[day];
+    }
+
+    void add(int day, int employee) {
+        int base = day * employeeCount;
+        if (positions[base + employee] != ABSENT) return;
+        int pos = sizes[day]++;
+        members[base + pos] = employee;
+        positions[base + employee] = pos;
+    }
+
+    void remove(int day, int employee) {
+        int base = day * employeeCount;
+        int pos = positions[base + employee];
+        if (pos == ABSENT) return;
+        int last = members[base + --sizes[day]];
+        members[base + pos] = last;
+        positions[base + last] = pos;
+        positions[base + employee] = ABSENT;
+    }
+
+    /** A uniformly random available employee for the day, or -1 if there is none. */
+    int random(int day, Random rng) {
+        int size = sizes[day];
+        return size == 0 ? -1 : members[day * employeeCount + rng.nextInt(size)];
+    }
+}
@@ -0,0 +1,252 @@
+package com.schedular.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Greedy pass spread across cores, followed by the usual random backfill. Employees are
+ * taken in batches of {@code batchSize}; each batch runs in three phases:
+ * <ol>
+ *   <li>plan, in parallel: every employee walks the greedy rules against the slot counts
+ *       committed so far and records the slots it would claim, bumping a per-slot demand counter;</li>
+ *   <li>commit, in parallel: an employee whose every slot has room for all of its requesters
+ *       claims them through CAS on the day x shift counters;</li>
+ *   <li>replay, in order: the remaining employees are re-planned against the updated counts.</li>
+ * </ol>
+ * An employee's days and day count are only ever touched by the thread handling it, so no
+ * lock is taken. Which employee wins a contended seat depends only on the batch boundaries
+ * and the employee order, never on thread timing, so a given seed and batch size always
+ * give the same schedule whatever the parallelism. With a batch size of 1 the result is
+ * exactly the sequential {@link GreedyAssigner} pass.
+ */
+public final class ConcurrentGreedyEngine implements ScheduleEngine, AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final int batchSize;
+
+    public ConcurrentGreedyEngine(int parallelism, int batchSize) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    /** Greedy pass over employees in index order, then backfill seeded by {@code seed}. */
+    @Override
+    public ScheduleKernel solve(SchedulingProblem problem, long seed, SolveMonitor monitor) {
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        long started = System.nanoTime();
+        assignPreferences(kernel, MultiStartSolver.identity(problem.employeeCount()), monitor);
+        started = MultiStartSolver.stepCompleted(monitor, SolveMonitor.Step.GREEDY_PASS, started);
+        GreedyAssigner.ensureMinimumStaffing(kernel, new Random(seed));
+        MultiStartSolver.stepCompleted(monitor, SolveMonitor.Step.BACKFILL, started);
+        return kernel;
+    }
+
+    /**
+     * Runs the greedy pass over employees in the given order on top of the kernel's current state.
+     *
+     * @throws CancellationException if the monitor cancelled the run; the kernel is left untouched
+     */
+    public void assignPreferences(ScheduleKernel kernel, int[] order, SolveMonitor monitor) {
+        Pass pass = new Pass(kernel);
+        int batches = (order.length + batchSize - 1) / batchSize;
+        for (int b = 0; b < batches; b++) {
+            if (monitor.isCancelled()) throw new CancellationException("Solve cancelled");
+            int from = b * batchSize;
+            pass.runBatch(order, from, Math.min(order.length, from + batchSize));
+            monitor.passCompleted(b + 1, batches);
+        }
+        pass.copyInto(kernel);
+    }
+
+    /** Runs {@code body} for 0..size-1, split into one contiguous range per worker. */
+    private void forEach(int size, IntConsumer body) {
+        int parts = Math.min(size, pool.getParallelism());
+        List<Callable<Void>> tasks = new ArrayList<>(parts);
+        for (int p = 0; p < parts; p++) {
+            int lo = (int) ((long) size * p / parts);
+            int hi = (int) ((long) size * (p + 1) / parts);
+            tasks.add(() -> {
+                for (int i = lo; i < hi; i++) body.accept(i);
+                return null;
+            });
+        }
+        for (Future<Void> future : pool.invokeAll(tasks)) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while assigning", e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Assignment task failed", e.getCause());
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    /** Shared state of one greedy pass; per-employee arrays are confined to the thread handling that employee. */
+    private final class Pass {
+
+        private static final int NO_SLOT = -1;
+
+        private final SchedulingProblem problem;
+        private final int capacity;
+        private final int maxDays;
+        private final byte[] assigned;               // e * DAYS + day -> shift, or UNASSIGNED
+        private final int[] daysWorked;              // e
+        private final AtomicIntegerArray slotCounts; // day * SHIFTS + shift
+
+        private final int[] claims = new int[batchSize * DAYS]; // i * DAYS + k -> slot planned by the i-th employee of the batch
+        private final boolean[] spilledClaims = new boolean[batchSize * DAYS]; // claim lands on a later day than planned
+        private final byte[] claimCounts = new byte[batchSize];
+        private final byte[] conflictCounts = new byte[batchSize]; // claims committed below the day's first choice
+        private final byte[] spilloverCounts = new byte[batchSize];
+        private int conflictsResolved;
+        private int spillovers;
+        private final boolean[] deferred = new boolean[batchSize];
+        private final int[] room = new int[DAYS * SHIFTS];
+        private final AtomicIntegerArray demand = new AtomicIntegerArray(DAYS * SHIFTS);
+
+        Pass(ScheduleKernel kernel) {
+            this.problem = kernel.problem();
+            this.capacity = problem.shiftCapacity();
+            this.maxDays = problem.maxDaysPerEmployee();
+            this.assigned = new byte[problem.employeeCount() * DAYS];
+            this.daysWorked = new int[problem.employeeCount()];
+            this.slotCounts = new AtomicIntegerArray(DAYS * SHIFTS);
+            for (int e = 0; e < problem.employeeCount(); e++) {
+                daysWorked[e] = kernel.daysWorked(e);
+                for (int day = 0; day < DAYS; day++) assigned[e * DAYS + day] = (byte) kernel.shiftOf(e, day);
+            }
+            for (int slot = 0; slot < DAYS * SHIFTS; slot++) {
+                slotCounts.set(slot, kernel.slotCount(slot / SHIFTS, slot % SHIFTS));
+            }
+        }
+
+        void runBatch(int[] order, int from, int to) {
+            int size = to - from;
+            for (int slot = 0; slot < DAYS * SHIFTS; slot++) {
+                room[slot] = capacity - slotCounts.get(slot);
+                demand.set(slot, 0);
+            }
+
+            forEach(size, i -> {
+                int n = plan(order[from + i], i * DAYS);
+                claimCounts[i] = (byte) n;
+                for (int k = 0; k < n; k++) demand.incrementAndGet(claims[i * DAYS + k]);
+            });
+
+            forEach(size, i -> {
+                int base = i * DAYS;
+                boolean contended = false;
+                for (int k = 0; k < claimCounts[i] && !contended; k++) {
+                    int slot = claims[base + k];
+                    contended = demand.get(slot) > room[slot];
+                }
+                deferred[i] = contended;
+                if (!contended) commit(order[from + i], base, claimCounts[i]);
+            });
+
+            for (int i = 0; i < size; i++) {
+                if (!deferred[i]) continue;
+                int e = order[from + i];
+                commit(e, i * DAYS, plan(e, i * DAYS));
+            }
+            for (int i = 0; i < size; i++) {
+                conflictsResolved += conflictCounts[i];
+                spillovers += spilloverCounts[i];
+            }
+        }
+
+        /**
+         * The greedy rules of {@link GreedyAssigner#assignEmployee} against the committed slot
+         * counts: ranked shifts on each day, else the first later day with room, until the day limit.
+         * Planned slots are written to {@code claims} from {@code base}; returns how many.
+         */
+        private int plan(int e, int base) {
+            int taken = 0;
+            for (int day = 0; day < DAYS; day++) {
+                if (assigned[e * DAYS + day] != ScheduleKernel.UNASSIGNED) taken |= 1 << day;
+            }
+            int worked = daysWorked[e];
+            int n = 0;
+            for (int day = 0; day < DAYS && worked < maxDays; day++) {
+                if ((taken & (1 << day)) != 0) continue;
+                for (int d = day; d < DAYS; d++) {
+                    if ((taken & (1 << d)) != 0) continue;
+                    int slot = firstWithRoom(e, d);
+                    if (slot != NO_SLOT) {
+                        spilledClaims[base + n] = d != day;
+                        claims[base + n++] = slot;
+                        taken |= 1 << d;
+                        worked++;
+                        break;
+                    }
+                }
+            }
+            return n;
+        }
+
+        private int firstWithRoom(int e, int day) {
+            for (int rank = 0; rank < SHIFTS; rank++) {
+                int slot = day * SHIFTS + problem.preferredShift(e, day, rank);
+                if (slotCounts.get(slot) < capacity) return slot;
+            }
+            return NO_SLOT;
+        }
+
+        private void commit(int e, int base, int n) {
+            int conflicts = 0;
+            int spilled = 0;
+            for (int k = 0; k < n; k++) {
+                int slot = claims[base + k];
+                if (!tryClaim(slot)) throw new IllegalStateException("Slot " + slot + " over-committed");
+                assigned[e * DAYS + slot / SHIFTS] = (byte) (slot % SHIFTS);
+                daysWorked[e]++;
+                if (spilledClaims[base + k]) {
+                    conflicts++;
+                    spilled++;
+                } else if (slot % SHIFTS != problem.preferredShift(e, slot / SHIFTS, 0)) {
+                    conflicts++;
+                }
+                AssignmentEvent.emit(problem, e, slot / SHIFTS, slot % SHIFTS, spilledClaims[base + k], false);
+            }
+            conflictCounts[base / DAYS] = (byte) conflicts;
+            spilloverCounts[base / DAYS] = (byte) spilled;
+        }
+
+        private boolean tryClaim(int slot) {
+            while (true) {
+                int count = slotCounts.get(slot);
+                if (count >= capacity) return false;
+                if (slotCounts.compareAndSet(slot, count, count + 1)) return true;
+            }
+        }
+
+        void copyInto(ScheduleKernel kernel) {
+            for (int e = 0; e < problem.employeeCount(); e++) {
+                for (int day = 0; day < DAYS; day++) {
+                    int shift = assigned[e * DAYS + day];
+                    if (shift != ScheduleKernel.UNASSIGNED && kernel.shiftOf(e, day) == ScheduleKernel.UNASSIGNED) {
+                        kernel.assign(e, day, shift);
+                    }
+                }
+            }
+            kernel.countConflicts(conflictsResolved, spillovers);
+        }
+    }
+}
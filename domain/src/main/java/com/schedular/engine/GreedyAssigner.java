@@ -0,0 +1,85 @@
+package com.schedular.engine;
+
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Preference-first greedy pass with same-day/next-day conflict resolution,
+ * followed by random backfill of understaffed slots.
+ */
+public final class GreedyAssigner {
+
+    private GreedyAssigner() {}
+
+    /** Runs the greedy pass over employees in index order. */
+    public static void assignPreferences(ScheduleKernel kernel) {
+        assignPreferences(kernel, MultiStartSolver.identity(kernel.problem().employeeCount()));
+    }
+
+    /** Runs the greedy pass, visiting employees in the given order. */
+    public static void assignPreferences(ScheduleKernel kernel, int[] order) {
+        for (int e : order) {
+            assignEmployee(kernel, e);
+        }
+    }
+
+    /** Greedy pass for a single employee, day by day until they reach the day limit. */
+    public static void assignEmployee(ScheduleKernel kernel, int employee) {
+        int maxDays = kernel.problem().maxDaysPerEmployee();
+        for (int day = 0; day < DAYS; day++) {
+            if (kernel.daysWorked(employee) >= maxDays) break;
+            attemptAssignWithConflictResolution(kernel, employee, day);
+        }
+    }
+
+    /**
+     * Tries the employee's ranked shifts on the day; if all are full, moves on to later days.
+     */
+    static void attemptAssignWithConflictResolution(ScheduleKernel kernel, int employee, int day) {
+        if (!kernel.isAvailable(employee, day)) return;
+
+        SchedulingProblem problem = kernel.problem();
+        for (int rank = 0; rank < SHIFTS; rank++) {
+            int shift = problem.preferredShift(employee, day, rank);
+            if (kernel.tryAssign(employee, day, shift)) {
+                if (rank > 0) kernel.countConflicts(1, 0);
+                AssignmentEvent.emit(problem, employee, day, shift, false, false);
+                return;
+            }
+        }
+
+        for (int next = day + 1; next < DAYS; next++) {
+            if (!kernel.isAvailable(employee, next)) continue;
+            for (int rank = 0; rank < SHIFTS; rank++) {
+                int shift = problem.preferredShift(employee, next, rank);
+                if (kernel.tryAssign(employee, next, shift)) {
+                    kernel.countConflicts(1, 1);
+                    AssignmentEvent.emit(problem, employee, next, shift, true, false);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Tops every slot up to the minimum with employees picked uniformly at random
+     * among those still free that day. Each pick is O(1) through the kernel's availability index.
+     */
+    public static void ensureMinimumStaffing(ScheduleKernel kernel, Random rng) {
+        SchedulingProblem problem = kernel.problem();
+        int target = Math.min(problem.minEmployeesPerShift(), problem.shiftCapacity());
+        for (int day = 0; day < DAYS; day++) {
+            for (int shift = 0; shift < SHIFTS; shift++) {
+                while (kernel.slotCount(day, shift) < target) {
+                    int chosen = kernel.randomAvailable(day, rng);
+                    if (chosen < 0) break;
+                    kernel.assign(chosen, day, shift);
+                    kernel.countBackfill();
+                    AssignmentEvent.emit(problem, chosen, day, shift, false, true);
+                }
+            }
+        }
+    }
+}
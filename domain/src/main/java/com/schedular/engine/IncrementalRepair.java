@@ -0,0 +1,64 @@
+package com.schedular.engine;
+
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+
+/**
+ * Re-plans a single employee inside an existing schedule instead of regenerating the week.
+ * The employee's shifts are released and re-assigned greedily, then improved by swapping
+ * with colleagues on the same day, and finally any seat left understaffed is backfilled.
+ */
+public final class IncrementalRepair {
+
+    private IncrementalRepair() {}
+
+    public static void reschedule(ScheduleKernel kernel, int employee, Random rng) {
+        for (int day = 0; day < DAYS; day++) kernel.unassign(employee, day);
+
+        GreedyAssigner.assignEmployee(kernel, employee);
+        improveBySwaps(kernel, employee);
+        GreedyAssigner.ensureMinimumStaffing(kernel, rng);
+    }
+
+    /**
+     * For each day the employee works below their first choice, takes a better-ranked shift
+     * that has room, or swaps with a colleague there when that lowers the pair's total rank.
+     */
+    static void improveBySwaps(ScheduleKernel k, int e) {
+        SchedulingProblem p = k.problem();
+        int min = Math.min(p.minEmployeesPerShift(), p.shiftCapacity());
+        for (int day = 0; day < DAYS; day++) {
+            int current = k.shiftOf(e, day);
+            if (current == ScheduleKernel.UNASSIGNED) continue;
+
+            for (int rank = 0; rank < p.rankOf(e, day, current); rank++) {
+                int better = p.preferredShift(e, day, rank);
+                boolean keepsStaffing = k.slotCount(day, current) > min || k.slotCount(day, better) < min;
+                if (k.hasRoom(day, better) && keepsStaffing) {
+                    k.unassign(e, day);
+                    k.assign(e, day, better);
+                    break;
+                }
+                if (swapIfBetter(k, e, day, current, better)) break;
+            }
+        }
+    }
+
+    private static boolean swapIfBetter(ScheduleKernel k, int e, int day, int current, int better) {
+        SchedulingProblem p = k.problem();
+        for (int i = 0; i < k.slotCount(day, better); i++) {
+            int colleague = k.slotMember(day, better, i);
+            int delta = p.rankOf(e, day, better) + p.rankOf(colleague, day, current)
+                    - p.rankOf(e, day, current) - p.rankOf(colleague, day, better);
+            if (delta < 0) {
+                k.unassign(e, day);
+                k.unassign(colleague, day);
+                k.assign(e, day, better);
+                k.assign(colleague, day, current);
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,150 @@
+package com.schedular.engine;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Simulated-annealing improvement stage run on a finished greedy schedule.
+ *
+ * <p>Each iteration samples one existing assignment and proposes a move: change shift on the
+ * same day, swap shifts with a colleague on the same day, move to another free day, or hand
+ * the shift to an employee who is still free that day. Moves are scored by their delta alone
+ * (a few rank lookups), never by rescoring the schedule. Capacity and max-days are never
+ * violated, and a move may not leave more seats understaffed than before.
+ */
+public final class LocalSearchOptimizer {
+
+    private static final int TIME_CHECK_INTERVAL = 1024;
+
+    private final long iterations;
+    private final Duration timeBudget;
+    private final double initialTemperature;
+
+    public LocalSearchOptimizer(long iterations, Duration timeBudget, double initialTemperature) {
+        this.iterations = iterations;
+        this.timeBudget = timeBudget;
+        this.initialTemperature = initialTemperature;
+    }
+
+    /**
+     * Improves the schedule in place and returns it, or returns an untouched copy of the input
+     * if annealing ended on something worse. The iteration count alone decides the result; the
+     * time budget is only a safety cap, and a run it stops is marked {@link ScheduleKernel#cutShort()}.
+     */
+    public ScheduleKernel improve(ScheduleKernel kernel, Random rng) {
+        return improve(kernel, rng, SolveMonitor.NONE);
+    }
+
+    /**
+     * As {@link #improve(ScheduleKernel, Random)}, checking the monitor as often as the clock.
+     *
+     * @throws CancellationException if the monitor cancelled the run
+     */
+    public ScheduleKernel improve(ScheduleKernel kernel, Random rng, SolveMonitor monitor) {
+        ScheduleKernel initial = kernel.copy();
+        ScheduleScore initialScore = ScheduleScore.of(kernel);
+        long deadline = System.nanoTime() + timeBudget.toNanos();
+
+        boolean cutShort = false;
+        for (long it = 0; it < iterations; it++) {
+            if ((it & (TIME_CHECK_INTERVAL - 1)) == 0) {
+                if (monitor.isCancelled()) throw new CancellationException("Solve cancelled");
+                if (System.nanoTime() > deadline) {
+                    cutShort = true;
+                    break;
+                }
+            }
+            double temperature = initialTemperature * (1.0 - (double) it / iterations);
+            step(kernel, rng, temperature);
+        }
+
+        ScheduleKernel result = ScheduleScore.of(kernel).compareTo(initialScore) <= 0 ? kernel : initial;
+        if (cutShort) result.markCutShort();
+        return result;
+    }
+
+    private void step(ScheduleKernel k, Random rng, double temperature) {
+        int day = rng.nextInt(DAYS);
+        int shift = rng.nextInt(SHIFTS);
+        int count = k.slotCount(day, shift);
+        if (count == 0) return;
+        int employee = k.slotMember(day, shift, rng.nextInt(count));
+
+        switch (rng.nextInt(4)) {
+            case 0 -> changeShift(k, rng, temperature, employee, day, shift);
+            case 1 -> swapWithColleague(k, rng, temperature, employee, day, shift);
+            case 2 -> moveToOtherDay(k, rng, temperature, employee, day, shift);
+            default -> handOver(k, rng, temperature, employee, day, shift);
+        }
+    }
+
+    private void changeShift(ScheduleKernel k, Random rng, double t, int e, int day, int shift) {
+        int target = (shift + 1 + rng.nextInt(SHIFTS - 1)) % SHIFTS;
+        if (!k.hasRoom(day, target)) return;
+
+        int staffing = understaffingDelta(k, day, shift, -1) + understaffingDelta(k, day, target, +1);
+        int rank = k.problem().rankOf(e, day, target) - k.problem().rankOf(e, day, shift);
+        if (!accept(staffing, rank, t, rng)) return;
+
+        k.unassign(e, day);
+        k.assign(e, day, target);
+    }
+
+    private void swapWithColleague(ScheduleKernel k, Random rng, double t, int e, int day, int shift) {
+        int other = (shift + 1 + rng.nextInt(SHIFTS - 1)) % SHIFTS;
+        int count = k.slotCount(day, other);
+        if (count == 0) return;
+        int colleague = k.slotMember(day, other, rng.nextInt(count));
+
+        SchedulingProblem p = k.problem();
+        int rank = p.rankOf(e, day, other) + p.rankOf(colleague, day, shift)
+                - p.rankOf(e, day, shift) - p.rankOf(colleague, day, other);
+        if (!accept(0, rank, t, rng)) return;
+
+        k.unassign(e, day);
+        k.unassign(colleague, day);
+        k.assign(e, day, other);
+        k.assign(colleague, day, shift);
+    }
+
+    private void moveToOtherDay(ScheduleKernel k, Random rng, double t, int e, int day, int shift) {
+        int targetDay = (day + 1 + rng.nextInt(DAYS - 1)) % DAYS;
+        int targetShift = rng.nextInt(SHIFTS);
+        if (k.shiftOf(e, targetDay) != ScheduleKernel.UNASSIGNED || !k.hasRoom(targetDay, targetShift)) return;
+
+        int staffing = understaffingDelta(k, day, shift, -1) + understaffingDelta(k, targetDay, targetShift, +1);
+        int rank = k.problem().rankOf(e, targetDay, targetShift) - k.problem().rankOf(e, day, shift);
+        if (!accept(staffing, rank, t, rng)) return;
+
+        k.unassign(e, day);
+        k.assign(e, targetDay, targetShift);
+    }
+
+    private void handOver(ScheduleKernel k, Random rng, double t, int e, int day, int shift) {
+        int replacement = k.randomAvailable(day, rng);
+        if (replacement < 0) return;
+
+        int rank = k.problem().rankOf(replacement, day, shift) - k.problem().rankOf(e, day, shift);
+        if (!accept(0, rank, t, rng)) return;
+
+        k.unassign(e, day);
+        k.assign(replacement, day, shift);
+    }
+
+    /** Change in understaffed seats if the slot's headcount moved by {@code change}. */
+    private static int understaffingDelta(ScheduleKernel k, int day, int shift, int change) {
+        int min = Math.min(k.problem().minEmployeesPerShift(), k.problem().shiftCapacity());
+        int before = k.slotCount(day, shift);
+        return Math.max(0, min - (before + change)) - Math.max(0, min - before);
+    }
+
+    private static boolean accept(int staffingDelta, int rankDelta, double temperature, Random rng) {
+        if (staffingDelta > 0) return false;
+        if (staffingDelta < 0 || rankDelta <= 0) return true;
+        return temperature > 0 && rng.nextDouble() < Math.exp(-rankDelta / temperature);
+    }
+}
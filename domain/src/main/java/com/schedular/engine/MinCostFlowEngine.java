@@ -0,0 +1,303 @@
+package com.schedular.engine;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Exact engine: models the week as a min-cost flow network and solves it with successive
+ * shortest paths (Dijkstra over reduced costs).
+ * <pre>
+ *   source -> employee        capacity maxDaysPerEmployee, cost 0
+ *   employee -> employee-day  capacity 1 (one shift per day), cost 0
+ *   employee-day -> slot      capacity 1, cost = preference rank
+ *   slot -> sink              capacity min(minEmployeesPerShift, shiftCapacity), cost 0
+ *   slot -> sink              capacity of the seats above the minimum, cost EXTRA
+ * </pre>
+ * EXTRA exceeds any total rank the flow can carry. A min-cost max-flow therefore fills as
+ * many seats as any schedule can, as the greedy engines do, and among those schedules it
+ * staffs as many minimum seats as possible, then uses the lowest total rank. With the
+ * capacity at the minimum, that is exactly optimal for {@link ScheduleScore}; above it,
+ * the rank of the extra seats counts against the score just as it does for greedy. Each augmentation
+ * is O(V log V + E) with V and E linear in the employee count and the number of
+ * augmentations is bounded by the seat count, so the run is polynomial and in practice
+ * close to linear in the number of employees. The result is deterministic; the seed is unused.
+ */
+public final class MinCostFlowEngine implements ScheduleEngine {
+
+    // Nodes are numbered sink first and source last. The heap breaks distance ties by node
+    // number, so among equally short paths the search runs deep towards the sink instead of
+    // settling a whole layer of employees first.
+    private static final int SINK = 0;
+    private static final int SLOT_BASE = 1;
+    private static final int EMPLOYEE_DAY_BASE = SLOT_BASE + DAYS * SHIFTS;
+    private static final int INF = Integer.MAX_VALUE;
+
+    @Override
+    public ScheduleKernel solve(SchedulingProblem problem, long seed, SolveMonitor monitor) {
+        Network network = new Network(problem);
+        int seats = DAYS * SHIFTS * network.seatsPerSlot;
+        int flow = 0;
+        while (flow < seats) {
+            if (monitor.isCancelled()) throw new CancellationException("Solve cancelled");
+            int pushed = network.augment();
+            if (pushed == 0) break;
+            flow += pushed;
+            monitor.passCompleted(flow, seats);
+        }
+        if (monitor.isCancelled()) throw new CancellationException("Solve cancelled");
+        return network.toKernel();
+    }
+
+    /** Residual graph in forward-star form; arc {@code a ^ 1} is the reverse of arc {@code a}. */
+    private static final class Network {
+
+        private final SchedulingProblem problem;
+        private final int employees;
+        private final int seatsPerSlot;
+        private final int minimumSeats;
+        private final int nodeCount;
+        private final int source;
+
+        private final int[] head;
+        private final int[] next;
+        private final int[] to;
+        private final int[] cap;
+        private final int[] cost;
+        private int arcCount;
+
+        // Reverse employee-day -> slot arcs stay out of the slots' adjacency lists, which would
+        // otherwise hold one arc per employee; a slot only walks the arcs carrying its flow.
+        private final int[] slotFlowArcs; // slot * seatsPerSlot + i -> saturated employee-day -> slot arc
+        private final int[] slotFlowCount;
+
+        private final int[] potential;
+        private final int[] dist;
+        private final int[] prevArc;
+        private final LongHeap heap = new LongHeap();
+
+        Network(SchedulingProblem problem) {
+            this.problem = problem;
+            this.employees = problem.employeeCount();
+            this.seatsPerSlot = Math.max(0, problem.shiftCapacity());
+            this.minimumSeats = Math.min(seatsPerSlot, Math.max(0, problem.minEmployeesPerShift()));
+            this.source = EMPLOYEE_DAY_BASE + employees * DAYS + employees;
+            this.nodeCount = source + 1;
+
+            int arcs = 2 * (2 * DAYS * SHIFTS + employees * (1 + DAYS + DAYS * SHIFTS));
+            this.head = new int[nodeCount];
+            this.next = new int[arcs];
+            this.to = new int[arcs];
+            this.cap = new int[arcs];
+            this.cost = new int[arcs];
+            this.potential = new int[nodeCount];
+            this.dist = new int[nodeCount];
+            this.prevArc = new int[nodeCount];
+            this.slotFlowArcs = new int[DAYS * SHIFTS * seatsPerSlot];
+            this.slotFlowCount = new int[DAYS * SHIFTS];
+            Arrays.fill(head, -1);
+
+            int maxDays = Math.max(0, problem.maxDaysPerEmployee());
+            int extraSeatCost = extraSeatCost(maxDays);
+            for (int slot = 0; slot < DAYS * SHIFTS; slot++) {
+                addArc(SLOT_BASE + slot, SINK, minimumSeats, 0);
+                if (seatsPerSlot > minimumSeats) {
+                    addArc(SLOT_BASE + slot, SINK, seatsPerSlot - minimumSeats, extraSeatCost);
+                }
+            }
+            for (int e = 0; e < employees; e++) {
+                addArc(source, employeeNode(e), maxDays, 0);
+                for (int day = 0; day < DAYS; day++) {
+                    int ed = employeeDayNode(e, day);
+                    addArc(employeeNode(e), ed, 1, 0);
+                    for (int rank = 0; rank < SHIFTS; rank++) {
+                        int shift = problem.preferredShift(e, day, rank);
+                        addSlotArc(ed, SLOT_BASE + day * SHIFTS + shift, rank);
+                    }
+                }
+            }
+        }
+
+        /**
+         * One more than the highest total rank any flow can carry, so that trading an extra
+         * seat for a minimum seat always pays, whatever it does to the ranks.
+         */
+        private int extraSeatCost(int maxDays) {
+            long assignments = Math.min((long) DAYS * SHIFTS * seatsPerSlot, (long) employees * maxDays);
+            return Math.toIntExact(assignments * (SHIFTS - 1) + 1);
+        }
+
+        private static boolean isSlot(int node) {
+            return node >= SLOT_BASE && node < EMPLOYEE_DAY_BASE;
+        }
+
+        private int employeeNode(int e) {
+            return EMPLOYEE_DAY_BASE + employees * DAYS + e;
+        }
+
+        private int employeeDayNode(int e, int day) {
+            return EMPLOYEE_DAY_BASE + e * DAYS + day;
+        }
+
+        private void addArc(int from, int target, int capacity, int arcCost) {
+            store(from, target, capacity, arcCost);
+            store(target, from, 0, -arcCost);
+        }
+
+        /** Employee-day -> slot arc whose reverse is reached through {@link #slotFlowArcs}. */
+        private void addSlotArc(int employeeDay, int slotNode, int arcCost) {
+            store(employeeDay, slotNode, 1, arcCost);
+            store(-1, employeeDay, 0, -arcCost);
+        }
+
+        /** Appends an arc, linked into the adjacency list of {@code from} unless that is -1. */
+        private void store(int from, int target, int capacity, int arcCost) {
+            to[arcCount] = target;
+            cap[arcCount] = capacity;
+            cost[arcCount] = arcCost;
+            if (from >= 0) {
+                next[arcCount] = head[from];
+                head[from] = arcCount;
+            }
+            arcCount++;
+        }
+
+        /** Pushes flow along one shortest augmenting path; returns the amount pushed, 0 if none is left. */
+        int augment() {
+            if (!shortestPath()) return 0;
+            int pushed = INF;
+            for (int v = SINK; v != source; v = to[prevArc[v] ^ 1]) {
+                pushed = Math.min(pushed, cap[prevArc[v]]);
+            }
+            for (int v = SINK; v != source; v = to[prevArc[v] ^ 1]) {
+                int a = prevArc[v];
+                cap[a] -= pushed;
+                cap[a ^ 1] += pushed;
+                if ((a & 1) == 0 && isSlot(v)) {
+                    int slot = v - SLOT_BASE;
+                    slotFlowArcs[slot * seatsPerSlot + slotFlowCount[slot]++] = a;
+                } else if ((a & 1) == 1 && isSlot(to[a ^ 1])) {
+                    removeSlotFlow(to[a ^ 1] - SLOT_BASE, a ^ 1);
+                }
+            }
+            return pushed;
+        }
+
+        private void removeSlotFlow(int slot, int arc) {
+            int base = slot * seatsPerSlot;
+            int last = base + --slotFlowCount[slot];
+            for (int i = base; i <= last; i++) {
+                if (slotFlowArcs[i] == arc) {
+                    slotFlowArcs[i] = slotFlowArcs[last];
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Dijkstra on reduced costs, stopped as soon as the sink is settled. Potentials move by
+         * min(dist, dist(sink)), which keeps every residual reduced cost non-negative.
+         */
+        private boolean shortestPath() {
+            Arrays.fill(dist, INF);
+            heap.clear();
+            dist[source] = 0;
+            heap.push(0, source);
+            while (!heap.isEmpty()) {
+                long top = heap.poll();
+                int d = (int) (top >>> 32);
+                int u = (int) top;
+                if (d > dist[u]) continue;
+                if (u == SINK) break;
+                for (int a = head[u]; a != -1; a = next[a]) {
+                    relax(u, d, a);
+                }
+                if (isSlot(u)) {
+                    int slot = u - SLOT_BASE;
+                    for (int i = 0; i < slotFlowCount[slot]; i++) {
+                        relax(u, d, slotFlowArcs[slot * seatsPerSlot + i] ^ 1);
+                    }
+                }
+            }
+            int limit = dist[SINK];
+            if (limit == INF) return false;
+            for (int v = 0; v < nodeCount; v++) {
+                potential[v] += Math.min(dist[v], limit);
+            }
+            return true;
+        }
+
+        private void relax(int u, int d, int a) {
+            if (cap[a] == 0) return;
+            int v = to[a];
+            int nd = d + cost[a] + potential[u] - potential[v];
+            if (nd < dist[v]) {
+                dist[v] = nd;
+                prevArc[v] = a;
+                heap.push(nd, v);
+            }
+        }
+
+        /** Reads the saturated employee-day -> slot arcs back into a kernel. */
+        ScheduleKernel toKernel() {
+            ScheduleKernel kernel = new ScheduleKernel(problem);
+            for (int e = 0; e < employees; e++) {
+                for (int day = 0; day < DAYS; day++) {
+                    for (int a = head[employeeDayNode(e, day)]; a != -1; a = next[a]) {
+                        if ((a & 1) == 0 && cap[a] == 0) {
+                            int slot = to[a] - SLOT_BASE;
+                            kernel.assign(e, slot / SHIFTS, slot % SHIFTS);
+                        }
+                    }
+                }
+            }
+            return kernel;
+        }
+    }
+
+    /** Binary min-heap of (distance, node) packed into longs; stale entries are skipped by the caller. */
+    private static final class LongHeap {
+
+        private long[] items = new long[1024];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void push(int distance, int node) {
+            if (size == items.length) items = Arrays.copyOf(items, size * 2);
+            long item = ((long) distance << 32) | node;
+            int i = size++;
+            while (i > 0) {
+                int parent = (i - 1) >>> 1;
+                if (items[parent] <= item) break;
+                items[i] = items[parent];
+                i = parent;
+            }
+            items[i] = item;
+        }
+
+        long poll() {
+            long top = items[0];
+            long last = items[--size];
+            int i = 0;
+            while (true) {
+                int child = 2 * i + 1;
+                if (child >= size) break;
+                if (child + 1 < size && items[child + 1] < items[child]) child++;
+                if (items[child] >= last) break;
+                items[i] = items[child];
+                i = child;
+            }
+            items[i] = last;
+            return top;
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.schedular.engine;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent randomized greedy + backfill passes in parallel and keeps the best-scoring one.
+ * Pass 0 always runs in employee order, so a single pass behaves like the plain greedy engine;
+ * later passes shuffle the order. The pass count decides the result for a seed; the time
+ * budget is only a safety cap that skips passes not yet started, and a solve it shortens is
+ * marked {@link ScheduleKernel#cutShort()}. When an optimizer is configured, every pass
+ * finishes with a local-search stage.
+ */
+public final class MultiStartSolver implements ScheduleEngine, AutoCloseable {
+
+    private final ForkJoinPool pool;
+    private final int passes;
+    private final Duration timeBudget;
+    private final LocalSearchOptimizer optimizer;
+
+    public MultiStartSolver(int parallelism, int passes, Duration timeBudget) {
+        this(parallelism, passes, timeBudget, null);
+    }
+
+    /**
+     * @param optimizer local-search stage applied to each pass, or {@code null} for greedy only
+     */
+    public MultiStartSolver(int parallelism, int passes, Duration timeBudget, LocalSearchOptimizer optimizer) {
+        this.pool = new ForkJoinPool(Math.max(1, parallelism));
+        this.passes = Math.max(1, passes);
+        this.timeBudget = timeBudget;
+        this.optimizer = optimizer;
+    }
+
+    @Override
+    public ScheduleKernel solve(SchedulingProblem problem, long seed, SolveMonitor monitor) {
+        long deadline = passes == 1 ? Long.MAX_VALUE : System.nanoTime() + timeBudget.toNanos();
+        AtomicInteger completed = new AtomicInteger();
+        List<Callable<Candidate>> tasks = new ArrayList<>(passes);
+        for (int pass = 0; pass < passes; pass++) {
+            int p = pass;
+            tasks.add(() -> {
+                if (monitor.isCancelled()) return null;
+                Candidate candidate = runPass(problem, seed, p, deadline, optimizer, monitor);
+                monitor.passCompleted(completed.incrementAndGet(), passes);
+                return candidate;
+            });
+        }
+
+        Candidate best = null;
+        boolean skipped = false;
+        for (Future<Candidate> future : pool.invokeAll(tasks)) {
+            Candidate candidate = await(future);
+            if (candidate == null) {
+                skipped = true;
+            } else if (best == null || candidate.isBetterThan(best)) {
+                best = candidate;
+            }
+        }
+        if (best == null || monitor.isCancelled()) throw new CancellationException("Solve cancelled");
+        if (skipped) best.kernel().markCutShort();
+        return best.kernel();
+    }
+
+    private static Candidate runPass(SchedulingProblem problem, long seed, int pass, long deadline,
+                                     LocalSearchOptimizer optimizer, SolveMonitor monitor) {
+        if (pass > 0 && System.nanoTime() > deadline) return null;
+
+        Random rng = new Random(seed + pass * 0x9E3779B97F4A7C15L);
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        int n = problem.employeeCount();
+        long started = System.nanoTime();
+        GreedyAssigner.assignPreferences(kernel, pass == 0 ? identity(n) : shuffled(n, rng));
+        started = stepCompleted(monitor, SolveMonitor.Step.GREEDY_PASS, started);
+        GreedyAssigner.ensureMinimumStaffing(kernel, rng);
+        started = stepCompleted(monitor, SolveMonitor.Step.BACKFILL, started);
+        if (optimizer != null) {
+            kernel = optimizer.improve(kernel, rng, monitor);
+            stepCompleted(monitor, SolveMonitor.Step.LOCAL_SEARCH, started);
+        }
+        return new Candidate(pass, kernel, ScheduleScore.of(kernel));
+    }
+
+    /** Reports a step that began at {@code started} and returns when it ended. */
+    static long stepCompleted(SolveMonitor monitor, SolveMonitor.Step step, long started) {
+        long now = System.nanoTime();
+        monitor.stepCompleted(step, now - started);
+        return now;
+    }
+
+    private static Candidate await(Future<Candidate> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof CancellationException cancelled) throw cancelled;
+            throw new IllegalStateException("Solver pass failed", e.getCause());
+        }
+    }
+
+    static int[] identity(int n) {
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        return order;
+    }
+
+    static int[] shuffled(int n, Random rng) {
+        int[] order = identity(n);
+        for (int i = n - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    @Override
+    public void close() {
+        pool.shutdown();
+    }
+
+    private record Candidate(int pass, ScheduleKernel kernel, ScheduleScore score) {
+        boolean isBetterThan(Candidate other) {
+            int cmp = score.compareTo(other.score);
+            return cmp < 0 || (cmp == 0 && pass < other.pass);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.schedular.engine;
+
+import com.schedular.domain.PackedPreferences;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Collects stored preferences in rank order and completes each day's ranking
+ * with the remaining shifts in their natural order.
+ */
+public final class PreferenceTable {
+
+    private final long[] rankings; // per employee, in the PackedPreferences layout
+    private final byte[] filled;
+    private final byte[] seen;     // bitmask of shifts already ranked per employee-day
+
+    public PreferenceTable(int employeeCount) {
+        this.rankings = new long[employeeCount];
+        this.filled = new byte[employeeCount * DAYS];
+        this.seen = new byte[employeeCount * DAYS];
+    }
+
+    /**
+     * Appends the shift as the employee's next choice for the day. Repeated shifts are ignored.
+     */
+    public void prefer(int employee, int day, int shift) {
+        int ed = employee * DAYS + day;
+        int bit = 1 << shift;
+        if ((seen[ed] & bit) != 0 || filled[ed] == SHIFTS) return;
+        seen[ed] |= bit;
+        rankings[employee] = PackedPreferences.withShiftAt(rankings[employee], day, filled[ed], shift);
+        filled[ed]++;
+    }
+
+    /** Appends every ranked slot of a stored week, day by day in rank order. */
+    public void preferAll(int employee, long preferences) {
+        if (preferences == PackedPreferences.NONE) return;
+        for (int day = 0; day < DAYS; day++) {
+            for (int rank = 0; rank < SHIFTS; rank++) {
+                int shift = PackedPreferences.shiftAt(preferences, day, rank);
+                if (shift >= 0) prefer(employee, day, shift);
+            }
+        }
+    }
+
+    /**
+     * Completes every day's ranking and returns one packed week per employee; the builder
+     * should not be reused.
+     */
+    public long[] toRankings() {
+        for (int ed = 0; ed < filled.length; ed++) {
+            for (int shift = 0; shift < SHIFTS && filled[ed] < SHIFTS; shift++) {
+                if ((seen[ed] & (1 << shift)) == 0) prefer(ed / DAYS, ed % DAYS, shift);
+            }
+        }
+        return rankings;
+    }
+}
@@ -0,0 +1,32 @@
+package com.schedular.engine;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+
+/**
+ * Cell-level difference between two schedules over the same problem.
+ */
+public final class ScheduleDiff {
+
+    /**
+     * One employee-day whose shift differs; either side may be {@link ScheduleKernel#UNASSIGNED}.
+     */
+    public record Change(int employee, int day, int before, int after) {}
+
+    private ScheduleDiff() {}
+
+    public static List<Change> between(ScheduleKernel before, ScheduleKernel after) {
+        List<Change> changes = new ArrayList<>();
+        int employees = after.problem().employeeCount();
+        for (int e = 0; e < employees; e++) {
+            for (int day = 0; day < DAYS; day++) {
+                int was = before.shiftOf(e, day);
+                int now = after.shiftOf(e, day);
+                if (was != now) changes.add(new Change(e, day, was, now));
+            }
+        }
+        return changes;
+    }
+}
@@ -0,0 +1,17 @@
+package com.schedular.engine;
+
+/**
+ * Turns a scheduling problem into a complete schedule. Implementations must be safe
+ * to call from several threads at once.
+ */
+public interface ScheduleEngine {
+
+    default ScheduleKernel solve(SchedulingProblem problem, long seed) {
+        return solve(problem, seed, SolveMonitor.NONE);
+    }
+
+    /**
+     * @throws java.util.concurrent.CancellationException if the monitor cancelled the run
+     */
+    ScheduleKernel solve(SchedulingProblem problem, long seed, SolveMonitor monitor);
+}
@@ -0,0 +1,193 @@
+package com.schedular.engine;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Mutable working state of the assignment engine: employee x day -> shift, plus
+ * per-slot and per-employee counters. Everything is addressed by dense int indexes
+ * so probes never box or allocate. An {@link AvailabilityIndex} of employees still
+ * free on each day is kept in step with every assignment.
+ */
+public final class ScheduleKernel {
+
+    public static final byte UNASSIGNED = -1;
+
+    private final SchedulingProblem problem;
+    private final byte[] assigned;   // e * DAYS + day -> shift, or UNASSIGNED
+    private final int[] slotCounts;  // day * SHIFTS + shift
+    private final int[] daysWorked;  // e
+    private final int[] slotMembers; // (day * SHIFTS + shift) * capacity + i -> employee, i < slot count
+    private final AvailabilityIndex available;
+    private long rankCost;           // sum of preference ranks over all assignments
+    private int conflictsResolved;   // greedy assignments that missed the first choice of the day tried
+    private int spillovers;          // of those, the ones that moved to a later day
+    private int backfills;           // assignments made only to reach minimum staffing
+    private boolean cutShort;        // a time budget ended the solve before its pass or iteration count
+
+    public ScheduleKernel(SchedulingProblem problem) {
+        this.problem = problem;
+        this.assigned = new byte[problem.employeeCount() * DAYS];
+        this.slotCounts = new int[DAYS * SHIFTS];
+        this.daysWorked = new int[problem.employeeCount()];
+        this.slotMembers = new int[DAYS * SHIFTS * problem.shiftCapacity()];
+        this.available = new AvailabilityIndex(problem.employeeCount());
+        Arrays.fill(assigned, UNASSIGNED);
+        if (problem.maxDaysPerEmployee() <= 0) {
+            for (int e = 0; e < problem.employeeCount(); e++) {
+                for (int day = 0; day < DAYS; day++) available.remove(day, e);
+            }
+        }
+    }
+
+    public SchedulingProblem problem() { return problem; }
+
+    public boolean isAvailable(int employee, int day) {
+        return available.contains(day, employee);
+    }
+
+    /** Number of employees who could still take a shift on the day. */
+    public int availableCount(int day) {
+        return available.size(day);
+    }
+
+    /** A uniformly random employee still available on the day, or -1 if there is none. */
+    public int randomAvailable(int day, Random rng) {
+        return available.random(day, rng);
+    }
+
+    public boolean hasRoom(int day, int shift) {
+        return slotCounts[day * SHIFTS + shift] < problem.shiftCapacity();
+    }
+
+    /** Assigns the employee if they are free that day and the slot has room. */
+    public boolean tryAssign(int employee, int day, int shift) {
+        if (!isAvailable(employee, day) || !hasRoom(day, shift)) return false;
+        assign(employee, day, shift);
+        return true;
+    }
+
+    /**
+     * Assigns without checking availability; callers are expected to have done so.
+     * The slot itself must have room.
+     */
+    public void assign(int employee, int day, int shift) {
+        int slot = day * SHIFTS + shift;
+        if (slotCounts[slot] >= problem.shiftCapacity()) {
+            throw new IllegalStateException("Slot " + day + "/" + shift + " is already full");
+        }
+        assigned[employee * DAYS + day] = (byte) shift;
+        slotMembers[slot * problem.shiftCapacity() + slotCounts[slot]++] = employee;
+        rankCost += problem.rankOf(employee, day, shift);
+        available.remove(day, employee);
+        if (++daysWorked[employee] == problem.maxDaysPerEmployee()) {
+            for (int d = 0; d < DAYS; d++) available.remove(d, employee);
+        }
+    }
+
+    public void unassign(int employee, int day) {
+        int shift = assigned[employee * DAYS + day];
+        if (shift == UNASSIGNED) return;
+        assigned[employee * DAYS + day] = UNASSIGNED;
+        int slot = day * SHIFTS + shift;
+        int base = slot * problem.shiftCapacity();
+        int last = base + --slotCounts[slot];
+        for (int i = base; i <= last; i++) {
+            if (slotMembers[i] == employee) {
+                slotMembers[i] = slotMembers[last];
+                break;
+            }
+        }
+        rankCost -= problem.rankOf(employee, day, shift);
+        if (daysWorked[employee]-- == problem.maxDaysPerEmployee()) {
+            for (int d = 0; d < DAYS; d++) {
+                if (assigned[employee * DAYS + d] == UNASSIGNED) available.add(d, employee);
+            }
+        } else {
+            available.add(day, employee);
+        }
+    }
+
+    /** Shift ordinal the employee works on the day, or {@link #UNASSIGNED}. */
+    public int shiftOf(int employee, int day) {
+        return assigned[employee * DAYS + day];
+    }
+
+    public int slotCount(int day, int shift) {
+        return slotCounts[day * SHIFTS + shift];
+    }
+
+    /** The i-th employee working the slot, for i below {@link #slotCount}; order is unspecified. */
+    public int slotMember(int day, int shift, int i) {
+        return slotMembers[(day * SHIFTS + shift) * problem.shiftCapacity() + i];
+    }
+
+    /** Number of employee-days currently assigned. */
+    public int assignments() {
+        int total = 0;
+        for (int count : slotCounts) total += count;
+        return total;
+    }
+
+    public int daysWorked(int employee) {
+        return daysWorked[employee];
+    }
+
+    /** An independent copy of the current state. */
+    public ScheduleKernel copy() {
+        ScheduleKernel copy = new ScheduleKernel(problem);
+        for (int e = 0; e < problem.employeeCount(); e++) {
+            for (int day = 0; day < DAYS; day++) {
+                int shift = assigned[e * DAYS + day];
+                if (shift != UNASSIGNED) copy.assign(e, day, shift);
+            }
+        }
+        copy.conflictsResolved = conflictsResolved;
+        copy.spillovers = spillovers;
+        copy.backfills = backfills;
+        copy.cutShort = cutShort;
+        return copy;
+    }
+
+    /** Sum of preference ranks (0 = first choice) over all current assignments. */
+    public long rankCost() {
+        return rankCost;
+    }
+
+    /**
+     * Records conflicts the greedy pass resolved by taking a lower-ranked shift or a later
+     * day, {@code spilled} of them on a later day. Plain counters, read once the solve is over.
+     */
+    public void countConflicts(int resolved, int spilled) {
+        conflictsResolved += resolved;
+        spillovers += spilled;
+    }
+
+    public void countBackfill() {
+        backfills++;
+    }
+
+    /** Marks a schedule whose solve a time budget ended early, so the same seed may not repeat it. */
+    public void markCutShort() {
+        cutShort = true;
+    }
+
+    public boolean cutShort() {
+        return cutShort;
+    }
+
+    public int conflictsResolved() {
+        return conflictsResolved;
+    }
+
+    public int spillovers() {
+        return spillovers;
+    }
+
+    public int backfills() {
+        return backfills;
+    }
+}
@@ -0,0 +1,28 @@
+package com.schedular.engine;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * Quality of a schedule, lower is better: understaffed seats first, then the sum of
+ * preference ranks used (0 for every first choice).
+ */
+public record ScheduleScore(int understaffedSeats, long rankCost) implements Comparable<ScheduleScore> {
+
+    public static ScheduleScore of(ScheduleKernel kernel) {
+        int min = Math.min(kernel.problem().minEmployeesPerShift(), kernel.problem().shiftCapacity());
+        int understaffed = 0;
+        for (int day = 0; day < DAYS; day++) {
+            for (int shift = 0; shift < SHIFTS; shift++) {
+                understaffed += Math.max(0, min - kernel.slotCount(day, shift));
+            }
+        }
+        return new ScheduleScore(understaffed, kernel.rankCost());
+    }
+
+    @Override
+    public int compareTo(ScheduleScore other) {
+        int byStaffing = Integer.compare(understaffedSeats, other.understaffedSeats);
+        return byStaffing != 0 ? byStaffing : Long.compare(rankCost, other.rankCost);
+    }
+}
@@ -0,0 +1,84 @@
+package com.schedular.engine;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.PackedPreferences;
+import com.schedular.domain.Shift;
+
+/**
+ * Immutable input of a scheduling run, indexed densely: employees are 0..n-1,
+ * days and shifts are their enum ordinals.
+ */
+public final class SchedulingProblem {
+
+    public static final int DAYS = Day.values().length;
+    public static final int SHIFTS = Shift.values().length;
+
+    private final long[] employeeIds;
+    private final long[] rankings;   // per employee: day * SHIFTS + rank -> shift, PackedPreferences layout
+    private final long[] shiftRanks; // per employee: day * SHIFTS + shift -> rank, same layout
+    private final int shiftCapacity;
+    private final int minEmployeesPerShift;
+    private final int maxDaysPerEmployee;
+
+    /**
+     * @param rankings a complete packed ranking per employee, as built by {@link PreferenceTable}
+     */
+    public SchedulingProblem(long[] employeeIds,
+                             long[] rankings,
+                             int shiftCapacity,
+                             int minEmployeesPerShift,
+                             int maxDaysPerEmployee) {
+        if (rankings.length != employeeIds.length) {
+            throw new IllegalArgumentException("Expected a ranking for every employee");
+        }
+        this.employeeIds = employeeIds;
+        this.rankings = rankings;
+        this.shiftRanks = new long[rankings.length];
+        for (int e = 0; e < rankings.length; e++) {
+            for (int day = 0; day < DAYS; day++) {
+                for (int rank = 0; rank < SHIFTS; rank++) {
+                    int shift = PackedPreferences.shiftAt(rankings[e], day, rank);
+                    if (shift < 0) throw new IllegalArgumentException("Incomplete ranking for employee " + e);
+                    shiftRanks[e] = PackedPreferences.withShiftAt(shiftRanks[e], day, shift, rank);
+                }
+            }
+        }
+        this.shiftCapacity = shiftCapacity;
+        this.minEmployeesPerShift = minEmployeesPerShift;
+        this.maxDaysPerEmployee = maxDaysPerEmployee;
+    }
+
+    public int employeeCount() { return employeeIds.length; }
+    public long employeeId(int employee) { return employeeIds[employee]; }
+    public int shiftCapacity() { return shiftCapacity; }
+    public int minEmployeesPerShift() { return minEmployeesPerShift; }
+    public int maxDaysPerEmployee() { return maxDaysPerEmployee; }
+
+    /** Shift ordinal the employee ranks at {@code rank} (0 = first choice) on the given day. */
+    public int preferredShift(int employee, int day, int rank) {
+        return PackedPreferences.shiftAt(rankings[employee], day, rank);
+    }
+
+    /** Rank (0 = first choice) the employee gave the shift on the given day. */
+    public int rankOf(int employee, int day, int shift) {
+        return PackedPreferences.shiftAt(shiftRanks[employee], day, shift);
+    }
+
+    /**
+     * 64-bit FNV-1a hash over employee ids in index order, every ranking and the constraints.
+     * Equal problems always give equal fingerprints; different ones collide with negligible odds.
+     */
+    public long fingerprint() {
+        long h = 0xCBF29CE484222325L;
+        h = mix(h, employeeIds.length);
+        for (long id : employeeIds) h = mix(h, id);
+        for (long ranking : rankings) h = mix(h, ranking);
+        h = mix(h, shiftCapacity);
+        h = mix(h, minEmployeesPerShift);
+        return mix(h, maxDaysPerEmployee);
+    }
+
+    private static long mix(long h, long value) {
+        return (h ^ value) * 0x100000001B3L;
+    }
+}
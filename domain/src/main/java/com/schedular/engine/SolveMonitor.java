@@ -0,0 +1,20 @@
+package com.schedular.engine;
+
+/**
+ * Lets a caller follow and stop a running solve. Checked between solver passes.
+ */
+public interface SolveMonitor {
+
+    SolveMonitor NONE = new SolveMonitor() {};
+
+    /** The stages a pass is made of, as reported to {@link #stepCompleted}. */
+    enum Step { GREEDY_PASS, BACKFILL, LOCAL_SEARCH }
+
+    /** Passes that have not started yet are skipped once this returns true. */
+    default boolean isCancelled() { return false; }
+
+    default void passCompleted(int completed, int total) {}
+
+    /** Called once per step of every pass, possibly from several solver threads at once. */
+    default void stepCompleted(Step step, long nanos) {}
+}
@@ -0,0 +1,9 @@
+package com.schedular.repo;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+
+/**
+ * Flat projection of a stored ShiftAssignment, without loading the Employee.
+ */
+public record AssignmentRow(Long id, Long employeeId, Day day, Shift shift) {}
@@ -1,10 +1,41 @@
 package com.schedular.repo;
 
 import com.schedular.domain.Employee;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.List;
 import java.util.Optional;
 
+/**
+ * Employee lookups. The reads below go through Hibernate's query cache, with the employees
+ * themselves in the second-level cache; writes made through Hibernate invalidate both, and
+ * plain JDBC writers evict them through {@code EmployeeCache}.
+ */
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Employee> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Employee> findByNameIgnoreCase(String name);
+
+    /** Every employee's packed preferences in a single query, ordered by id. */
+    @Query("SELECT new com.schedular.repo.PreferenceRow(e.id, e.name, e.preferences) FROM Employee e ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<PreferenceRow> findAllPreferences();
+
+    /** Employees whose name contains {@code name}, ignoring case; an empty string matches everyone. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    Page<EmployeeSummary> findByNameContainingIgnoreCase(String name, Pageable pageable);
+
+    /** Same search, projected onto {@code type}, e.g. {@link PreferenceRow}. */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    <T> Page<T> findByNameContainingIgnoreCase(String name, Pageable pageable, Class<T> type);
 }
@@ -0,0 +1,6 @@
+package com.schedular.repo;
+
+/**
+ * Id and name of an employee, without loading the entity.
+ */
+public record EmployeeSummary(Long id, String name) {}
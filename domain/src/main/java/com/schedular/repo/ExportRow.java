@@ -0,0 +1,9 @@
+package com.schedular.repo;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+
+/**
+ * One published assignment with its employee, for the export feeds.
+ */
+public record ExportRow(Long assignmentId, Long employeeId, String employeeName, Day day, Shift shift) {}
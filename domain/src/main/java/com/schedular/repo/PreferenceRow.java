@@ -0,0 +1,7 @@
+package com.schedular.repo;
+
+/**
+ * An employee's packed week of ranked shifts (see {@link com.schedular.domain.PackedPreferences}),
+ * without loading the entity.
+ */
+public record PreferenceRow(Long id, String name, long preferences) {}
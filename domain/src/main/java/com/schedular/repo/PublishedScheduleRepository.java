@@ -0,0 +1,30 @@
+package com.schedular.repo;
+
+import com.schedular.domain.PublishedSchedule;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+public interface PublishedScheduleRepository extends JpaRepository<PublishedSchedule, Integer> {
+
+    /** The pointer row, locked until the transaction ends so writers publish one at a time. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT p FROM PublishedSchedule p WHERE p.id = " + PublishedSchedule.ID)
+    Optional<PublishedSchedule> lockPointer();
+
+    /** Points readers back at version 0, as on a fresh database, keeping the row writers lock. */
+    @Transactional
+    @Modifying
+    @Query("UPDATE PublishedSchedule p SET p.versionId = 0")
+    int resetPointer();
+
+    /** Id of the published version; 0 until the first version is published. */
+    default long currentVersion() {
+        return findById(PublishedSchedule.ID).map(PublishedSchedule::getVersionId).orElse(0L);
+    }
+}
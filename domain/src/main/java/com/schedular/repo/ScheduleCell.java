@@ -0,0 +1,9 @@
+package com.schedular.repo;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+
+/**
+ * One assigned employee name for a day and shift, for rendering the schedule.
+ */
+public record ScheduleCell(Day day, Shift shift, String employeeName) {}
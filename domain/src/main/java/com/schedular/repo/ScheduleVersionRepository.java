@@ -0,0 +1,21 @@
+package com.schedular.repo;
+
+import com.schedular.domain.ScheduleVersion;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+
+public interface ScheduleVersionRepository extends JpaRepository<ScheduleVersion, Long> {
+
+    /** Version ids, newest first. */
+    @Query("SELECT v.id FROM ScheduleVersion v ORDER BY v.id DESC")
+    List<Long> findNewestIds(Pageable page);
+
+    @Modifying
+    @Query("DELETE FROM ScheduleVersion v WHERE v.id < :version")
+    int deleteOlderThan(@Param("version") long version);
+}
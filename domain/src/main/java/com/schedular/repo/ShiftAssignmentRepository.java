@@ -1,7 +1,78 @@
 package com.schedular.repo;
 
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
 import com.schedular.domain.ShiftAssignment;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
 
 public interface ShiftAssignmentRepository extends JpaRepository<ShiftAssignment, Long> {
-}
\ No newline at end of file
+
+    /** Ids bound per {@link #endRows} statement; some databases refuse IN lists any longer. */
+    int END_ROWS_CHUNK = 1000;
+
+    /** Restricts assignment {@code a} to the published version, read in the same statement as the rows. */
+    String PUBLISHED = "a.versionFrom <= (SELECT COALESCE(MAX(p.versionId), 0) FROM PublishedSchedule p) " +
+                       "AND (a.versionTo IS NULL OR a.versionTo > (SELECT COALESCE(MAX(q.versionId), 0) FROM PublishedSchedule q))";
+
+    /** Rows that belong to the given schedule version. */
+    @Query("SELECT new com.schedular.repo.AssignmentRow(a.id, a.employee.id, a.day, a.shift) FROM ShiftAssignment a " +
+           "WHERE a.versionFrom <= :version AND (a.versionTo IS NULL OR a.versionTo > :version)")
+    List<AssignmentRow> findRows(@Param("version") long version);
+
+    /**
+     * Cells of the published version with the employee name joined in, ordered by name within
+     * each cell. The pointer is read in the same statement, so one published version is seen whole.
+     */
+    @Query("SELECT new com.schedular.repo.ScheduleCell(a.day, a.shift, e.name) " +
+           "FROM ShiftAssignment a JOIN a.employee e " +
+           "WHERE " + PUBLISHED + " ORDER BY e.name")
+    List<ScheduleCell> findPublishedCells();
+
+    /**
+     * Published assignments grouped by employee, read through a cursor; a null filter matches
+     * everything. The stream must be consumed and closed inside a transaction.
+     */
+    @Query("SELECT new com.schedular.repo.ExportRow(a.id, e.id, e.name, a.day, a.shift) " +
+           "FROM ShiftAssignment a JOIN a.employee e " +
+           "WHERE " + PUBLISHED + " " +
+           "AND (:day IS NULL OR a.day = :day) " +
+           "AND (:shift IS NULL OR a.shift = :shift) " +
+           "AND (:employeeId IS NULL OR e.id = :employeeId) " +
+           "ORDER BY e.id")
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    Stream<ExportRow> streamPublished(@Param("day") Day day,
+                                      @Param("shift") Shift shift,
+                                      @Param("employeeId") Long employeeId);
+
+    /**
+     * Takes rows out of every version from {@code version} on; they stay readable in older ones.
+     * Binds one parameter per id, so callers with an unbounded list use {@link #endAllRows}.
+     */
+    @Modifying
+    @Query("UPDATE ShiftAssignment a SET a.versionTo = :version WHERE a.id IN :ids")
+    int endRows(@Param("ids") Collection<Long> ids, @Param("version") long version);
+
+    /** {@link #endRows} for any number of ids, {@value #END_ROWS_CHUNK} per statement. */
+    default int endAllRows(List<Long> ids, long version) {
+        int ended = 0;
+        for (int from = 0; from < ids.size(); from += END_ROWS_CHUNK) {
+            ended += endRows(ids.subList(from, Math.min(ids.size(), from + END_ROWS_CHUNK)), version);
+        }
+        return ended;
+    }
+
+    /** Deletes rows that no version from {@code version} on can see. */
+    @Modifying
+    @Query("DELETE FROM ShiftAssignment a WHERE a.versionTo IS NOT NULL AND a.versionTo <= :version")
+    int deleteEndedBy(@Param("version") long version);
+}
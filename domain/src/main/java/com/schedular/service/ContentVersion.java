@@ -0,0 +1,54 @@
+package com.schedular.service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Version stamp of everything the schedule and preference pages show: employees, their
+ * preferences and the published schedule. Every writer of those advances it once its
+ * transaction commits, so a page rendered after a stamp was read never shows older data
+ * than the stamp stands for. The ETag carries the startup time, so stamps from before a
+ * restart never match.
+ */
+@Component
+public class ContentVersion {
+
+    /**
+     * @param version      advances by one per committed change
+     * @param lastModified when it last advanced, in epoch milliseconds, a later second each time
+     */
+    public record Stamp(long version, long lastModified, String etag) {}
+
+    private final long epoch = System.currentTimeMillis();
+    private final AtomicReference<Stamp> current = new AtomicReference<>(stamp(0, epoch));
+
+    public Stamp current() {
+        return current.get();
+    }
+
+    /** Advances the stamp when the surrounding transaction commits, or now without one. */
+    public void advanceOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            advance();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                advance();
+            }
+        });
+    }
+
+    /** Each version gets a later second than the last, as Last-Modified only carries seconds. */
+    private void advance() {
+        current.updateAndGet(s -> stamp(s.version() + 1, Math.max(s.lastModified() + 1000, System.currentTimeMillis())));
+    }
+
+    private Stamp stamp(long version, long lastModified) {
+        return new Stamp(version, lastModified, "\"" + Long.toHexString(epoch) + "-" + version + "\"");
+    }
+}
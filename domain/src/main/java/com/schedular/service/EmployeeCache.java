@@ -0,0 +1,43 @@
+package com.schedular.service;
+
+import com.schedular.domain.Employee;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Invalidation of the second-level cache for writers that bypass Hibernate. Saves through
+ * the repositories keep the employee region and the query cache in step on their own;
+ * plain JDBC updates are invisible to Hibernate, so their callers evict here.
+ */
+@Component
+public class EmployeeCache {
+
+    private final SessionFactory sessionFactory;
+
+    public EmployeeCache(EntityManagerFactory entityManagerFactory) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Evicts cached employees and query results now and again once the surrounding
+     * transaction completes, so nothing read from the old rows in between survives.
+     */
+    public void evictOnCompletion() {
+        evict();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) return;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                evict();
+            }
+        });
+    }
+
+    private void evict() {
+        sessionFactory.getCache().evictEntityData(Employee.class);
+        sessionFactory.getCache().evictQueryRegions();
+    }
+}
@@ -0,0 +1,314 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.PackedPreferences;
+import com.schedular.domain.Shift;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.*;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+
+/**
+ * Bulk onboarding of employees and their ranked shifts from a streamed upload. Each record
+ * names an employee and optionally one day with up to three shifts, best first:
+ * <pre>
+ *   CSV:    name,day,first,second,third          (this header line optional)
+ *   NDJSON: {"name": "...", "day": "MON", "shifts": ["MORNING", "EVENING"]}
+ * </pre>
+ * Names are matched exactly, as the unique constraint on employee names compares them,
+ * against an index of the existing employees and their packed preferences, loaded once per
+ * import, and unknown names are created.
+ * Imported days replace the employee's stored ranking for that day; other days are kept.
+ * Records are read and written {@link #CHUNK_SIZE} at a time through JDBC batches, so the
+ * parsed records and write buffers stay bounded. The name index, every stored week and the
+ * employee-days imported so far are held for the whole import, so memory still grows with
+ * the employee table and with the upload. A record that cannot be used is reported with its
+ * line number and skipped; the rest of the import goes ahead.
+ */
+@Service
+public class EmployeeImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 100;
+
+    private static final int MAX_NAME_LENGTH = 255;
+    private static final List<String> CSV_HEADER = List.of("name", "day", "first", "second", "third");
+
+    public enum Format { CSV, NDJSON }
+
+    public record RowError(long line, String message) {}
+
+    /**
+     * @param records     non-blank lines read, excluding a CSV header
+     * @param rejected    records skipped because of an error
+     * @param errors      the first {@value #MAX_REPORTED_ERRORS} of those errors
+     */
+    public record ImportReport(long records, int employeesCreated, long preferencesWritten,
+                               long rejected, List<RowError> errors) {}
+
+    /** One usable record; {@code day} is null when only the employee is imported. */
+    private record ImportRow(long line, String name, Day day, List<Shift> shifts) {}
+
+    /** Shape of one NDJSON line. */
+    private record JsonRow(String name, String day, List<String> shifts) {}
+
+    private final JdbcTemplate jdbc;
+    private final JsonMapper jsonMapper;
+    private final EmployeeCache employeeCache;
+    private final ContentVersion contentVersion;
+
+    public EmployeeImportService(JdbcTemplate jdbc, JsonMapper jsonMapper, EmployeeCache employeeCache,
+                                 ContentVersion contentVersion) {
+        this.jdbc = jdbc;
+        this.jsonMapper = jsonMapper;
+        this.employeeCache = employeeCache;
+        this.contentVersion = contentVersion;
+    }
+
+    /**
+     * Imports the whole upload in one transaction; I/O and database failures roll it back.
+     * The writes bypass Hibernate, so cached employees are evicted once it commits.
+     */
+    @Transactional
+    public ImportReport importEmployees(InputStream in, Format format) throws IOException {
+        Import state = new Import();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<ImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        long lineNumber = 0;
+        boolean first = true;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) continue;
+            if (first && format == Format.CSV && isHeader(line)) {
+                first = false;
+                continue;
+            }
+            first = false;
+            state.records++;
+            try {
+                chunk.add(format == Format.CSV ? parseCsv(lineNumber, line) : parseJson(lineNumber, line));
+            } catch (IllegalArgumentException e) {
+                state.reject(lineNumber, e.getMessage());
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                write(chunk, state);
+                chunk.clear();
+            }
+        }
+        write(chunk, state);
+        if (!state.created.isEmpty() || state.preferencesWritten > 0) {
+            employeeCache.evictOnCompletion();
+            contentVersion.advanceOnCommit();
+        }
+        return new ImportReport(state.records, state.created.size(), state.preferencesWritten,
+                state.rejected, List.copyOf(state.errors));
+    }
+
+    /** Running state of one import, starting from every stored name and week. */
+    private final class Import {
+
+        final Map<String, Long> idsByName = new HashMap<>();
+        final Map<Long, Long> preferences = new HashMap<>();
+        final Set<Long> created = new HashSet<>();
+        final Set<Long> importedDays = new HashSet<>(); // employeeId * DAYS + day
+        long records;
+        long preferencesWritten;
+        long rejected;
+        final List<RowError> errors = new ArrayList<>();
+
+        Import() {
+            jdbc.query("SELECT id, name, preferences FROM employee", rs -> {
+                long id = rs.getLong(1);
+                idsByName.put(rs.getString(2), id);
+                preferences.put(id, rs.getLong(3));
+            });
+        }
+
+        void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) errors.add(new RowError(line, message));
+        }
+    }
+
+    /**
+     * Creates the chunk's new employees, then replaces the imported days in the packed
+     * preferences held in memory and writes every touched employee's week back in one update
+     * batch. A day imported twice for the same employee keeps the first.
+     */
+    private void write(List<ImportRow> chunk, Import state) {
+        Set<String> newNames = new LinkedHashSet<>();
+        for (ImportRow row : chunk) {
+            if (!state.idsByName.containsKey(row.name())) newNames.add(row.name());
+        }
+        insertEmployees(newNames, state);
+
+        Set<Long> touched = new LinkedHashSet<>();
+        for (ImportRow row : chunk) {
+            if (row.day() == null) continue;
+            long id = state.idsByName.get(row.name());
+            if (!state.importedDays.add(id * DAYS + row.day().ordinal())) {
+                state.reject(row.line(), row.day() + " is imported more than once for " + row.name());
+                continue;
+            }
+            long stored = state.preferences.getOrDefault(id, PackedPreferences.NONE);
+            state.preferences.put(id, PackedPreferences.withDay(stored, row.day(), row.shifts()));
+            state.preferencesWritten += row.shifts().size();
+            touched.add(id);
+        }
+        if (!touched.isEmpty()) {
+            List<Long> ids = new ArrayList<>(touched);
+            jdbc.batchUpdate("UPDATE employee SET preferences = ? WHERE id = ?", batch(ids.size(), (ps, i) -> {
+                ps.setLong(1, state.preferences.get(ids.get(i)));
+                ps.setLong(2, ids.get(i));
+            }));
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowSetter {
+        void set(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    /**
+     * Typed parameter setting; binding {@code Object[]} rows makes Spring resolve every
+     * parameter's SQL type, which more than doubles the cost of a batch on H2.
+     */
+    private static BatchPreparedStatementSetter batch(int size, RowSetter setter) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                setter.set(ps, i);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return size;
+            }
+        };
+    }
+
+    private void insertEmployees(Set<String> newNames, Import state) {
+        if (newNames.isEmpty()) return;
+        List<String> names = new ArrayList<>(newNames);
+        KeyHolder generated = new GeneratedKeyHolder();
+        jdbc.batchUpdate(
+                con -> con.prepareStatement("INSERT INTO employee (name, preferences) VALUES (?, 0)", new String[]{"id"}),
+                batch(names.size(), (ps, i) -> ps.setString(1, names.get(i))),
+                generated);
+        List<Map<String, Object>> ids = generated.getKeyList();
+        for (int i = 0; i < names.size(); i++) {
+            long id = ((Number) ids.get(i).values().iterator().next()).longValue();
+            state.idsByName.put(names.get(i), id);
+            state.created.add(id);
+        }
+    }
+
+    /** Only the whole header line counts, so an employee called "name" is still imported. */
+    private static boolean isHeader(String line) {
+        List<String> fields = splitCsv(line);
+        if (fields.size() != CSV_HEADER.size()) return false;
+        for (int i = 0; i < fields.size(); i++) {
+            if (!fields.get(i).trim().equalsIgnoreCase(CSV_HEADER.get(i))) return false;
+        }
+        return true;
+    }
+
+    private static ImportRow parseCsv(long line, String text) {
+        List<String> fields = splitCsv(text);
+        if (fields.size() > 5) throw new IllegalArgumentException("Expected at most 5 fields, got " + fields.size());
+        List<String> shifts = new ArrayList<>();
+        for (int i = 2; i < fields.size(); i++) {
+            if (!fields.get(i).isBlank()) shifts.add(fields.get(i));
+        }
+        return toRow(line, fields.get(0), fields.size() > 1 ? fields.get(1) : null, shifts);
+    }
+
+    private ImportRow parseJson(long line, String text) {
+        JsonRow json;
+        try {
+            json = jsonMapper.readValue(text, JsonRow.class);
+        } catch (JacksonException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        return toRow(line, json.name(), json.day(), json.shifts() != null ? json.shifts() : List.of());
+    }
+
+    private static ImportRow toRow(long line, String name, String day, List<String> shifts) {
+        String trimmed = name == null ? "" : name.trim();
+        if (trimmed.isEmpty()) throw new IllegalArgumentException("Name is missing");
+        if (trimmed.length() > MAX_NAME_LENGTH) {
+            throw new IllegalArgumentException("Name is longer than " + MAX_NAME_LENGTH + " characters");
+        }
+        if (day == null || day.isBlank()) {
+            if (!shifts.isEmpty()) throw new IllegalArgumentException("Shifts given without a day");
+            return new ImportRow(line, trimmed, null, null);
+        }
+        Day parsedDay = parseEnum(Day.class, day, "day");
+        if (shifts.isEmpty()) throw new IllegalArgumentException("No shifts given for " + parsedDay);
+        if (shifts.size() > Shift.values().length) {
+            throw new IllegalArgumentException("At most " + Shift.values().length + " shifts can be ranked");
+        }
+        Shift[] ranked = new Shift[shifts.size()];
+        for (int i = 0; i < ranked.length; i++) {
+            ranked[i] = parseEnum(Shift.class, shifts.get(i), "shift");
+            for (int j = 0; j < i; j++) {
+                if (ranked[j] == ranked[i]) throw new IllegalArgumentException(ranked[i] + " is ranked twice");
+            }
+        }
+        return new ImportRow(line, trimmed, parsedDay, List.of(ranked));
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String what) {
+        try {
+            return Enum.valueOf(type, value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown " + what + " '" + value.trim() + "'");
+        }
+    }
+
+    /** Splits one CSV line; fields may be double-quoted, with "" standing for a quote. */
+    static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) throw new IllegalArgumentException("Unterminated quoted field");
+        fields.add(field.toString());
+        return fields;
+    }
+}
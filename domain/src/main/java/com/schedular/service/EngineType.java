@@ -0,0 +1,16 @@
+package com.schedular.service;
+
+/**
+ * Assignment engines a schedule generation can run on.
+ */
+public enum EngineType {
+    /** Multi-start greedy passes with random backfill and optional local search. */
+    GREEDY,
+    /** One greedy pass split across cores with lock-free slot claims, then random backfill. */
+    PARALLEL_GREEDY,
+    /**
+     * Exact min-cost flow: as many seats filled as possible, the fewest of them understaffed,
+     * then lowest total preference rank.
+     */
+    FLOW
+}
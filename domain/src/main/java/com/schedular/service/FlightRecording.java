@@ -0,0 +1,79 @@
+package com.schedular.service;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Always-on Flight Recorder recording of the scheduler's events, switched on by
+ * {@code scheduler.flight-recording.enabled}. Uses the JDK's {@code default} settings with
+ * {@value #PROFILE} on top, so generation runs can be lined up with GC and lock events.
+ * Keeps a rolling window on disk and writes it to the destination when the app stops;
+ * {@code jcmd <pid> JFR.dump name=scheduler} takes a copy at any time.
+ */
+@Component
+@ConditionalOnBooleanProperty("scheduler.flight-recording.enabled")
+public class FlightRecording implements InitializingBean, DisposableBean {
+
+    static final String NAME = "scheduler";
+    static final String PROFILE = "/jfr/scheduler.jfc";
+
+    private final Recording recording;
+
+    public FlightRecording(SchedulerProperties properties) {
+        SchedulerProperties.FlightRecording settings = properties.flightRecording();
+        this.recording = new Recording(settings());
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(settings.maxAge());
+        recording.setDumpOnExit(true);
+        try {
+            recording.setDestination(settings.destination());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot write flight recording to " + settings.destination(), e);
+        }
+    }
+
+    /** The JDK's default settings overlaid with the scheduler profile. */
+    static Map<String, String> settings() {
+        try (Reader profile = new InputStreamReader(
+                Objects.requireNonNull(FlightRecording.class.getResourceAsStream(PROFILE), PROFILE),
+                StandardCharsets.UTF_8)) {
+            Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+            settings.putAll(Configuration.create(profile).getSettings());
+            return settings;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot read " + PROFILE, e);
+        } catch (ParseException e) {
+            throw new IllegalStateException("Invalid recording profile " + PROFILE, e);
+        }
+    }
+
+    Recording recording() {
+        return recording;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        recording.start();
+    }
+
+    @Override
+    public void destroy() {
+        recording.stop();
+        recording.close();
+    }
+}
@@ -0,0 +1,39 @@
+package com.schedular.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event spanning one schedule generation run. */
+@Name("com.schedular.Generation")
+@Label("Schedule Generation")
+@Category("Scheduler")
+@Description("One schedule generation run, from loading to the end of persisting")
+final class GenerationEvent extends Event {
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Seed")
+    long seed;
+
+    @Label("Outcome")
+    String outcome;
+
+    @Label("Employees")
+    int employees;
+
+    @Label("Assignments")
+    int assignments;
+
+    @Label("Conflicts Resolved")
+    int conflictsResolved;
+
+    @Label("Spillovers")
+    int spillovers;
+
+    @Label("Backfills")
+    int backfills;
+}
@@ -0,0 +1,183 @@
+package com.schedular.service;
+
+import com.schedular.engine.ScheduleKernel;
+import com.schedular.engine.SolveMonitor;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Micrometer meters of schedule generation, all tagged by engine:
+ * <ul>
+ *   <li>{@code scheduler.generation.phase}: time spent loading, solving and persisting, and
+ *       within solving in the greedy pass, backfill and local search of each solver pass.
+ *       Passes run in parallel, so those three can add up to more than solving took;</li>
+ *   <li>{@code scheduler.generation}: whole runs, tagged by outcome;</li>
+ *   <li>{@code scheduler.assignments}, {@code scheduler.conflicts.resolved},
+ *       {@code scheduler.spillovers}, {@code scheduler.backfills}: counts taken from the
+ *       winning schedule of each run.</li>
+ * </ul>
+ * The solver only bumps plain int fields on its kernel; meters are touched a handful of times
+ * per run, never per assignment. The flow engine has no greedy pass or backfill, so it only
+ * contributes assignments.
+ * <p>
+ * Each run and phase is also emitted as a {@link GenerationEvent} and {@link GenerationPhaseEvent}
+ * for Flight Recorder, which costs nothing beyond an enabled check while no recording wants them.
+ */
+@Component
+public class GenerationMetrics {
+
+    /** How a generation run ended. */
+    enum Outcome { REGENERATED, UNCHANGED, CANCELLED, FAILED }
+
+    private final Map<EngineType, Meters> meters = new EnumMap<>(EngineType.class);
+
+    public GenerationMetrics(MeterRegistry registry) {
+        for (EngineType engine : EngineType.values()) meters.put(engine, new Meters(registry, engine));
+    }
+
+    /** Starts timing a run; phases are timed as the returned monitor sees them start. */
+    Run start(EngineType engine, long seed, GenerationMonitor monitor) {
+        return new Run(meters.get(engine), seed, monitor);
+    }
+
+    private static final class Meters {
+
+        final String engine;
+        final Map<GenerationMonitor.Phase, Timer> phases = new EnumMap<>(GenerationMonitor.Phase.class);
+        final Map<SolveMonitor.Step, Timer> steps = new EnumMap<>(SolveMonitor.Step.class);
+        final Map<Outcome, Timer> runs = new EnumMap<>(Outcome.class);
+        final Counter assignments;
+        final Counter conflictsResolved;
+        final Counter spillovers;
+        final Counter backfills;
+
+        Meters(MeterRegistry registry, EngineType engine) {
+            String tag = tagValue(engine);
+            this.engine = tag;
+            for (GenerationMonitor.Phase phase : GenerationMonitor.Phase.values()) {
+                phases.put(phase, phaseTimer(registry, tag, phase));
+            }
+            for (SolveMonitor.Step step : SolveMonitor.Step.values()) {
+                steps.put(step, phaseTimer(registry, tag, step));
+            }
+            for (Outcome outcome : Outcome.values()) {
+                runs.put(outcome, Timer.builder("scheduler.generation")
+                        .description("Schedule generation runs, from loading to the end of persisting")
+                        .tags("engine", tag, "outcome", tagValue(outcome))
+                        .register(registry));
+            }
+            assignments = counter(registry, "scheduler.assignments", "Employee-days assigned by generated schedules", tag);
+            conflictsResolved = counter(registry, "scheduler.conflicts.resolved",
+                    "Greedy assignments that took a lower-ranked shift or a later day", tag);
+            spillovers = counter(registry, "scheduler.spillovers",
+                    "Greedy assignments moved to a later day because the day's ranked shifts were full", tag);
+            backfills = counter(registry, "scheduler.backfills",
+                    "Assignments made at random to reach minimum staffing", tag);
+        }
+
+        private static Timer phaseTimer(MeterRegistry registry, String engine, Enum<?> phase) {
+            return Timer.builder("scheduler.generation.phase")
+                    .description("Time spent in one phase of a schedule generation")
+                    .tags("engine", engine, "phase", tagValue(phase))
+                    .register(registry);
+        }
+
+        private static Counter counter(MeterRegistry registry, String name, String description, String engine) {
+            return Counter.builder(name).description(description).tag("engine", engine).register(registry);
+        }
+
+        private static String tagValue(Enum<?> value) {
+            return value.name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** One generation run; passes progress and cancellation through to the caller's monitor. */
+    final class Run implements GenerationMonitor {
+
+        private final Meters meters;
+        private final GenerationMonitor delegate;
+        private final long started = System.nanoTime();
+        private final GenerationEvent event = new GenerationEvent();
+        private GenerationMonitor.Phase phase;
+        private long phaseStarted;
+        private GenerationPhaseEvent phaseEvent;
+
+        private Run(Meters meters, long seed, GenerationMonitor delegate) {
+            this.meters = meters;
+            this.delegate = delegate;
+            event.begin();
+            event.engine = meters.engine;
+            event.seed = seed;
+        }
+
+        @Override
+        public void phaseStarted(Phase next) {
+            long now = System.nanoTime();
+            endPhase(now);
+            phase = next;
+            phaseStarted = now;
+            phaseEvent = new GenerationPhaseEvent();
+            phaseEvent.begin();
+            phaseEvent.engine = meters.engine;
+            phaseEvent.phase = Meters.tagValue(next);
+            delegate.phaseStarted(next);
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public void passCompleted(int completed, int total) {
+            delegate.passCompleted(completed, total);
+        }
+
+        @Override
+        public void stepCompleted(Step step, long nanos) {
+            meters.steps.get(step).record(nanos, TimeUnit.NANOSECONDS);
+            delegate.stepCompleted(step, nanos);
+        }
+
+        /** Counts the assignments and conflict handling of the schedule about to be published. */
+        void solved(ScheduleKernel kernel) {
+            event.employees = kernel.problem().employeeCount();
+            event.assignments = kernel.assignments();
+            event.conflictsResolved = kernel.conflictsResolved();
+            event.spillovers = kernel.spillovers();
+            event.backfills = kernel.backfills();
+            meters.assignments.increment(event.assignments);
+            meters.conflictsResolved.increment(event.conflictsResolved);
+            meters.spillovers.increment(event.spillovers);
+            meters.backfills.increment(event.backfills);
+        }
+
+        void finish(Outcome outcome) {
+            long now = System.nanoTime();
+            endPhase(now);
+            meters.runs.get(outcome).record(now - started, TimeUnit.NANOSECONDS);
+            event.outcome = Meters.tagValue(outcome);
+            event.commit();
+        }
+
+        /** Ends the run as cancelled or failed depending on {@code error}. */
+        void fail(RuntimeException error) {
+            finish(error instanceof CancellationException ? Outcome.CANCELLED : Outcome.FAILED);
+        }
+
+        private void endPhase(long now) {
+            if (phase == null) return;
+            meters.phases.get(phase).record(now - phaseStarted, TimeUnit.NANOSECONDS);
+            phaseEvent.commit();
+            phase = null;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.schedular.service;
+
+import com.schedular.engine.SolveMonitor;
+
+import java.util.concurrent.CancellationException;
+
+/**
+ * Progress and cancellation hooks for one schedule generation run.
+ */
+public interface GenerationMonitor extends SolveMonitor {
+
+    GenerationMonitor NONE = new GenerationMonitor() {};
+
+    enum Phase { LOADING, SOLVING, PERSISTING }
+
+    default void phaseStarted(Phase phase) {}
+
+    default void checkCancelled() {
+        if (isCancelled()) throw new CancellationException("Schedule generation cancelled");
+    }
+}
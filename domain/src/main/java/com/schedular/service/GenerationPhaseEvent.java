@@ -0,0 +1,21 @@
+package com.schedular.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** Flight Recorder event spanning one phase of a schedule generation run. */
+@Name("com.schedular.GenerationPhase")
+@Label("Schedule Generation Phase")
+@Category("Scheduler")
+@Description("Loading, solving or persisting within a schedule generation run")
+final class GenerationPhaseEvent extends Event {
+
+    @Label("Engine")
+    String engine;
+
+    @Label("Phase")
+    String phase;
+}
@@ -0,0 +1,84 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.PackedPreferences;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/**
+ * View model of one employee's preference form, precomputed so the template compares a
+ * byte per option instead of walking maps by string key. {@code choices} holds the chosen
+ * shift's ordinal for every (day, rank) slot, or {@link #NO_CHOICE}. The array is shared, not
+ * copied, so the template reads it without allocating; equality, hashing and
+ * {@code toString} go by its content.
+ */
+public record PreferenceCard(Long id, String name, String action, byte[] choices) {
+
+    public static final byte NO_CHOICE = -1;
+
+    /** One select of the form: its position in {@code choices} and its form field name. */
+    public record Slot(int index, String field) {}
+
+    /** One table row of the form, a select per rank. */
+    public record DayRow(Day day, List<Slot> slots) {}
+
+    /** The form layout, identical for every card: pref1_MON, pref2_MON, pref3_MON, ... */
+    public static final List<DayRow> ROWS = rows();
+
+    public static int slot(Day day, int rank) {
+        return day.ordinal() * SHIFTS + rank - 1;
+    }
+
+    /** Unpacks stored preferences into one byte per slot. */
+    static byte[] choices(long preferences) {
+        byte[] choices = new byte[DAYS * SHIFTS];
+        for (int day = 0; day < DAYS; day++) {
+            for (int rank = 0; rank < SHIFTS; rank++) {
+                choices[day * SHIFTS + rank] = (byte) PackedPreferences.shiftAt(preferences, day, rank);
+            }
+        }
+        return choices;
+    }
+
+    static PreferenceCard of(Long id, String name, byte[] choices) {
+        return new PreferenceCard(id, name, "/preferences/" + id, choices);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof PreferenceCard other
+                && Objects.equals(id, other.id)
+                && Objects.equals(name, other.name)
+                && Objects.equals(action, other.action)
+                && Arrays.equals(choices, other.choices);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(id, name, action) + Arrays.hashCode(choices);
+    }
+
+    @Override
+    public String toString() {
+        return "PreferenceCard[id=" + id + ", name=" + name + ", action=" + action
+                + ", choices=" + Arrays.toString(choices) + "]";
+    }
+
+    private static List<DayRow> rows() {
+        List<DayRow> rows = new ArrayList<>(DAYS);
+        for (Day day : Day.values()) {
+            List<Slot> slots = new ArrayList<>(SHIFTS);
+            for (int rank = 1; rank <= SHIFTS; rank++) {
+                slots.add(new Slot(slot(day, rank), "pref" + rank + "_" + day.name()));
+            }
+            rows.add(new DayRow(day, List.copyOf(slots)));
+        }
+        return List.copyOf(rows);
+    }
+}
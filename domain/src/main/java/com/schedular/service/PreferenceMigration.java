@@ -0,0 +1,104 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.PackedPreferences;
+import com.schedular.domain.Shift;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-time move of the legacy {@code shift_preference} table, one row per employee, day and
+ * rank, into the packed {@code employee.preferences} column. Runs at startup once Hibernate
+ * has updated the schema, and drops the legacy table in the same transaction, so it never
+ * runs twice. Rows naming an unknown day, shift or a rank outside 1-3 are left out.
+ */
+@Component
+public class PreferenceMigration implements InitializingBean {
+
+    static final String LEGACY_TABLE = "shift_preference";
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactions;
+    private final EmployeeCache employeeCache;
+
+    /** Takes the EntityManagerFactory only so the schema is up to date before this runs. */
+    public PreferenceMigration(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                               EntityManagerFactory schemaReady, EmployeeCache employeeCache) {
+        this.jdbc = jdbc;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.employeeCache = employeeCache;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        migrate();
+    }
+
+    /** @return the number of employees whose preferences were migrated, 0 when there was nothing to do */
+    int migrate() {
+        if (!legacyTablePresent()) return 0;
+        Integer migrated = transactions.execute(status -> {
+            Map<Long, Long> packed = new HashMap<>();
+            jdbc.query("SELECT employee_id, day_name, pref_rank, shift_name FROM " + LEGACY_TABLE, rs -> {
+                Day day = parse(Day.class, rs.getString(2));
+                Shift shift = parse(Shift.class, rs.getString(4));
+                int rank = rs.getInt(3);
+                if (day == null || shift == null || rank < 1 || rank > Shift.values().length) return;
+                packed.merge(rs.getLong(1),
+                        PackedPreferences.withShiftAt(PackedPreferences.NONE, day.ordinal(), rank - 1, shift.ordinal()),
+                        (a, b) -> a | b);
+            });
+            List<Map.Entry<Long, Long>> rows = new ArrayList<>(packed.entrySet());
+            jdbc.batchUpdate("UPDATE employee SET preferences = ? WHERE id = ?", new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setLong(1, rows.get(i).getValue());
+                    ps.setLong(2, rows.get(i).getKey());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+            jdbc.execute("DROP TABLE " + LEGACY_TABLE);
+            employeeCache.evictOnCompletion();
+            return rows.size();
+        });
+        return migrated == null ? 0 : migrated;
+    }
+
+    private boolean legacyTablePresent() {
+        Boolean present = jdbc.execute((ConnectionCallback<Boolean>) con -> {
+            DatabaseMetaData meta = con.getMetaData();
+            String name = meta.storesUpperCaseIdentifiers() ? LEGACY_TABLE.toUpperCase() : LEGACY_TABLE;
+            try (ResultSet tables = meta.getTables(con.getCatalog(), null, name, new String[]{"TABLE"})) {
+                return tables.next();
+            }
+        });
+        return Boolean.TRUE.equals(present);
+    }
+
+    private static <E extends Enum<E>> E parse(Class<E> type, String value) {
+        try {
+            return value == null ? null : Enum.valueOf(type, value);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
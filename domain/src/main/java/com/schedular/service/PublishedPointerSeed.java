@@ -0,0 +1,33 @@
+package com.schedular.service;
+
+import com.schedular.domain.PublishedSchedule;
+import com.schedular.repo.PublishedScheduleRepository;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Creates the {@link PublishedSchedule} pointer row, pointing at version 0, on a database
+ * that has none yet. Writers serialize on a lock of that row, which only works if it exists
+ * before the first of them arrives.
+ */
+@Component
+public class PublishedPointerSeed implements InitializingBean {
+
+    private final PublishedScheduleRepository publishedRepo;
+    private final TransactionTemplate transactions;
+
+    public PublishedPointerSeed(PublishedScheduleRepository publishedRepo,
+                                PlatformTransactionManager transactionManager) {
+        this.publishedRepo = publishedRepo;
+        this.transactions = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        transactions.executeWithoutResult(status -> {
+            if (!publishedRepo.existsById(PublishedSchedule.ID)) publishedRepo.save(new PublishedSchedule(0L));
+        });
+    }
+}
@@ -0,0 +1,166 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+import com.schedular.repo.ExportRow;
+import com.schedular.repo.ShiftAssignmentRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Feeds of the published schedule for payroll and timeclock systems. Rows come from a
+ * database cursor and are written to the output as they arrive, so memory use does not
+ * grow with the headcount.
+ */
+@Service
+public class ScheduleExportService {
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson"),
+        ICALENDAR("text/calendar", "ics");
+
+        private final String mediaType;
+        private final String extension;
+
+        Format(String mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public String mediaType() { return mediaType; }
+        public String extension() { return extension; }
+    }
+
+    /** Restricts an export; a null field matches everything. */
+    public record Filter(Day day, Shift shift, Long employeeId) {
+
+        public static final Filter ALL = new Filter(null, null, null);
+    }
+
+    // Calendar events need clock times, which the schedule itself does not carry.
+    private static final LocalTime[] SHIFT_STARTS = {LocalTime.of(6, 0), LocalTime.of(14, 0), LocalTime.of(22, 0)};
+    private static final int SHIFT_HOURS = 8;
+
+    private static final DateTimeFormatter ICAL_LOCAL = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final DateTimeFormatter ICAL_UTC = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'").withZone(ZoneOffset.UTC);
+    private static final int ICAL_LINE_OCTETS = 75;
+
+    private final ShiftAssignmentRepository assignmentRepo;
+    private final JsonMapper jsonMapper;
+
+    public ScheduleExportService(ShiftAssignmentRepository assignmentRepo, JsonMapper jsonMapper) {
+        this.assignmentRepo = assignmentRepo;
+        this.jsonMapper = jsonMapper;
+    }
+
+    /**
+     * Writes the published assignments matching the filter, grouped by employee. Calendar
+     * events are dated in the week starting on {@code monday}; the other formats ignore it.
+     * The output is flushed but not closed.
+     */
+    @Transactional(readOnly = true)
+    public void export(Filter filter, Format format, LocalDate monday, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 1 << 16);
+        try (Stream<ExportRow> rows = assignmentRepo.streamPublished(filter.day(), filter.shift(), filter.employeeId())) {
+            Iterator<ExportRow> it = rows.iterator();
+            switch (format) {
+                case CSV -> writeCsv(it, writer);
+                case NDJSON -> writeNdjson(it, writer);
+                case ICALENDAR -> writeCalendar(it, monday, writer);
+            }
+        }
+        writer.flush();
+    }
+
+    private static void writeCsv(Iterator<ExportRow> rows, Writer out) throws IOException {
+        out.write("employee_id,employee,day,shift\r\n");
+        while (rows.hasNext()) {
+            ExportRow row = rows.next();
+            out.write(String.valueOf(row.employeeId()));
+            out.write(',');
+            out.write(csvField(row.employeeName()));
+            out.write(',');
+            out.write(row.day().name());
+            out.write(',');
+            out.write(row.shift().name());
+            out.write("\r\n");
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private void writeNdjson(Iterator<ExportRow> rows, Writer out) throws IOException {
+        while (rows.hasNext()) {
+            out.write(jsonMapper.writeValueAsString(rows.next()));
+            out.write('\n');
+        }
+    }
+
+    /**
+     * One VEVENT per assignment in floating local time. The UID names the employee-day, so a
+     * re-published schedule updates the existing events instead of duplicating them.
+     */
+    private static void writeCalendar(Iterator<ExportRow> rows, LocalDate monday, Writer out) throws IOException {
+        String stamp = ICAL_UTC.format(Instant.now());
+        icalLine(out, "BEGIN:VCALENDAR");
+        icalLine(out, "VERSION:2.0");
+        icalLine(out, "PRODID:-//schedular//shift schedule//EN");
+        icalLine(out, "CALSCALE:GREGORIAN");
+        while (rows.hasNext()) {
+            ExportRow row = rows.next();
+            LocalDate date = monday.plusDays(row.day().ordinal());
+            LocalDateTime start = date.atTime(SHIFT_STARTS[row.shift().ordinal()]);
+            icalLine(out, "BEGIN:VEVENT");
+            icalLine(out, "UID:" + row.employeeId() + "-" + date + "@schedular");
+            icalLine(out, "DTSTAMP:" + stamp);
+            icalLine(out, "DTSTART:" + ICAL_LOCAL.format(start));
+            icalLine(out, "DTEND:" + ICAL_LOCAL.format(start.plusHours(SHIFT_HOURS)));
+            icalLine(out, "SUMMARY:" + icalText(row.employeeName() + " - " + row.shift().name()));
+            icalLine(out, "END:VEVENT");
+        }
+        icalLine(out, "END:VCALENDAR");
+    }
+
+    private static String icalText(String value) {
+        return value.replace("\\", "\\\\").replace(";", "\\;").replace(",", "\\,").replace("\n", "\\n");
+    }
+
+    /** Writes a content line, folded so no physical line exceeds 75 octets (RFC 5545, 3.1). */
+    private static void icalLine(Writer out, String line) throws IOException {
+        int octets = 0;
+        for (int i = 0; i < line.length(); ) {
+            int cp = line.codePointAt(i);
+            int size = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (octets + size > ICAL_LINE_OCTETS) {
+                out.write("\r\n ");
+                octets = 1;
+            }
+            out.write(line, i, Character.charCount(cp));
+            octets += size;
+            i += Character.charCount(cp);
+        }
+        out.write("\r\n");
+    }
+}
@@ -0,0 +1,100 @@
+package com.schedular.service;
+
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+
+/**
+ * A schedule generation running in the background. Progress is published through
+ * volatile fields so status polls never block the worker.
+ */
+public class ScheduleJob implements GenerationMonitor {
+
+    public enum State { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED }
+
+    /** Engine and seed are the ones the job actually runs with, defaults resolved. */
+    public record Status(String id, EngineType engine, long seed, State state, int percent, String phase,
+                         String error, Instant submittedAt, Instant finishedAt) {}
+
+    private final String id = UUID.randomUUID().toString();
+    private final EngineType engine;
+    private final long seed;
+    private final Instant submittedAt = Instant.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile Phase phase;
+    private volatile int percent;
+    private volatile boolean cancelRequested;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    ScheduleJob(EngineType engine, long seed) {
+        this.engine = engine;
+        this.seed = seed;
+    }
+
+    public String getId() { return id; }
+    public EngineType getEngine() { return engine; }
+    public long getSeed() { return seed; }
+    public State getState() { return state; }
+
+    public boolean isDone() {
+        return state == State.SUCCEEDED || state == State.FAILED || state == State.CANCELLED;
+    }
+
+    public Status status() {
+        return new Status(id, engine, seed, state, percent, phase == null ? null : phase.name(), error,
+                submittedAt, finishedAt);
+    }
+
+    public void cancel() {
+        cancelRequested = true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+        return cancelRequested;
+    }
+
+    @Override
+    public void phaseStarted(Phase phase) {
+        checkCancelled();
+        this.phase = phase;
+        this.percent = switch (phase) {
+            case LOADING -> 5;
+            case SOLVING -> 15;
+            case PERSISTING -> 90;
+        };
+    }
+
+    @Override
+    public void passCompleted(int completed, int total) {
+        percent = 15 + 75 * completed / total;
+    }
+
+    /** {@code finishedAt} is written before the final state, so a done job always has it. */
+    void run(Runnable work) {
+        state = State.RUNNING;
+        State end;
+        try {
+            checkCancelled();
+            work.run();
+            percent = 100;
+            end = State.SUCCEEDED;
+        } catch (CancellationException e) {
+            end = State.CANCELLED;
+        } catch (RuntimeException e) {
+            error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            end = State.FAILED;
+        }
+        finishedAt = Instant.now();
+        state = end;
+    }
+
+    /** Fails a job that never got to run. */
+    void reject(String reason) {
+        error = reason;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,108 @@
+package com.schedular.service;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Runs schedule generation off the request thread. A request for an input that is
+ * already being generated joins the running job instead of starting another one; the input
+ * is the engine, the seed and the {@link ContentVersion} of the data read, so a request made
+ * after an edit starts a run of its own. A job the executor refuses fails straight away.
+ */
+@Service
+public class ScheduleJobService {
+
+    static final int RETAINED_FINISHED_JOBS = 50;
+
+    private final SchedulingService schedulingService;
+    private final TaskExecutor executor;
+    private final ContentVersion contentVersion;
+    private final Map<String, ScheduleJob> jobsById = new ConcurrentHashMap<>();
+    private final Map<JobKey, ScheduleJob> runningByKey = new ConcurrentHashMap<>();
+
+    public ScheduleJobService(SchedulingService schedulingService, TaskExecutor executor, ContentVersion contentVersion) {
+        this.schedulingService = schedulingService;
+        this.executor = executor;
+        this.contentVersion = contentVersion;
+    }
+
+    /**
+     * Jobs only join runs that match all of a generation's input: engine, seed, and the
+     * content version current when they were submitted.
+     */
+    private record JobKey(EngineType engine, long seed, long contentVersion) {}
+
+    /**
+     * Submits a full generation on the configured engine and seed, or returns the one already
+     * queued or running for them.
+     */
+    public ScheduleJob submit() {
+        return submit(key(schedulingService.getDefaultEngine(), schedulingService.getDefaultSeed()),
+                schedulingService::generateSchedule);
+    }
+
+    /**
+     * Submits a full generation on the given engine and seed; {@code null} picks the configured
+     * default. A generation already queued or running for the same engine and seed, with no
+     * edit since it was submitted, is returned instead; other runs go ahead side by side and
+     * publish one after another.
+     */
+    public ScheduleJob submit(EngineType engine, Long seed) {
+        EngineType e = engine != null ? engine : schedulingService.getDefaultEngine();
+        long s = seed != null ? seed : schedulingService.getDefaultSeed();
+        return submit(key(e, s), monitor -> schedulingService.generateSchedule(e, s, monitor));
+    }
+
+    private ScheduleJob submit(JobKey key, java.util.function.Consumer<GenerationMonitor> work) {
+        ScheduleJob[] created = new ScheduleJob[1];
+        ScheduleJob job = runningByKey.compute(key, (k, existing) -> {
+            if (existing != null && !existing.isDone()) return existing;
+            created[0] = new ScheduleJob(k.engine(), k.seed());
+            return created[0];
+        });
+        if (job != created[0]) return job;
+
+        jobsById.put(job.getId(), job);
+        try {
+            executor.execute(() -> {
+                job.run(() -> work.accept(job));
+                runningByKey.remove(key, job);
+            });
+        } catch (RejectedExecutionException e) {
+            runningByKey.remove(key, job);
+            job.reject("No worker is free to run the generation; try again later");
+        }
+        pruneFinished();
+        return job;
+    }
+
+    private JobKey key(EngineType engine, long seed) {
+        return new JobKey(engine, seed, contentVersion.current().version());
+    }
+
+    public Optional<ScheduleJob> find(String id) {
+        return Optional.ofNullable(jobsById.get(id));
+    }
+
+    public Optional<ScheduleJob> cancel(String id) {
+        Optional<ScheduleJob> job = find(id);
+        job.ifPresent(ScheduleJob::cancel);
+        return job;
+    }
+
+    private void pruneFinished() {
+        int excess = jobsById.size() - RETAINED_FINISHED_JOBS;
+        if (excess <= 0) return;
+        jobsById.values().stream()
+                .filter(ScheduleJob::isDone)
+                .sorted(Comparator.comparing(j -> j.status().finishedAt(), Comparator.nullsLast(Comparator.naturalOrder())))
+                .limit(excess)
+                .forEach(j -> jobsById.remove(j.getId()));
+    }
+}
@@ -0,0 +1,140 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+import com.schedular.service.SchedulingService.ScheduleRow;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Tells listeners which cells of the rendered schedule changed once a new version is
+ * committed, so open pages can patch their table instead of reloading it. Listeners run on
+ * the committing thread and are expected to hand the update off quickly.
+ * <p>
+ * Updates reach listeners in version order. Writers register their update while holding the
+ * published-schedule lock, so registration order is version order, but their commits return
+ * after the lock is released and may finish the other way round. An update that completes
+ * early therefore waits until every update registered before it has been delivered or
+ * rolled back.
+ */
+@Component
+public class ScheduleUpdates {
+
+    /** One cell of the schedule table as it reads after the change. */
+    public record Cell(Day day, Shift shift, String employees) {}
+
+    /** The cells that differ from the previously published version. */
+    public record Update(long version, List<Cell> cells) {
+
+        /**
+         * This update and {@code other} as one: the higher version, and every cell either
+         * touched, as the higher version left it. Applying the two in version order or their
+         * merge leaves a page with the same table, whichever of them came first.
+         */
+        public Update then(Update other) {
+            Update older = other.version() < version ? other : this;
+            Update newer = older == this ? other : this;
+            Cell[][] grid = new Cell[Day.values().length][Shift.values().length];
+            for (Cell cell : older.cells()) grid[cell.day().ordinal()][cell.shift().ordinal()] = cell;
+            for (Cell cell : newer.cells()) grid[cell.day().ordinal()][cell.shift().ordinal()] = cell;
+            List<Cell> merged = new ArrayList<>();
+            for (Cell[] day : grid) {
+                for (Cell cell : day) if (cell != null) merged.add(cell);
+            }
+            return new Update(newer.version(), List.copyOf(merged));
+        }
+    }
+
+    private final List<Consumer<Update>> listeners = new CopyOnWriteArrayList<>();
+    private final Deque<Slot> inFlight = new ArrayDeque<>(); // guarded by itself
+
+    public void subscribe(Consumer<Update> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Diffs two renderings of the schedule and delivers the changed cells once the surrounding
+     * transaction commits, or now without one. Nothing is sent when no cell changed. Callers
+     * hold the published-schedule lock, which is what puts the slots in version order.
+     */
+    void publishOnCommit(long version, List<ScheduleRow> before, List<ScheduleRow> after) {
+        List<Cell> cells = changedCells(before, after);
+        if (cells.isEmpty()) return;
+        Slot slot = new Slot(new Update(version, List.copyOf(cells)));
+        synchronized (inFlight) {
+            inFlight.add(slot);
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            complete(slot, true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                complete(slot, status == STATUS_COMMITTED);
+            }
+        });
+    }
+
+    /**
+     * Marks a slot finished and delivers every finished update at the head of the queue. The
+     * lock is held while listeners run so that no two threads deliver out of order.
+     */
+    private void complete(Slot slot, boolean committed) {
+        synchronized (inFlight) {
+            slot.committed = committed;
+            slot.done = true;
+            while (!inFlight.isEmpty() && inFlight.peek().done) {
+                Slot head = inFlight.poll();
+                if (head.committed) deliver(head.update);
+            }
+        }
+    }
+
+    private void deliver(Update update) {
+        for (Consumer<Update> listener : listeners) listener.accept(update);
+    }
+
+    /** An update waiting for its transaction to end. */
+    private static final class Slot {
+        final Update update;
+        boolean done;
+        boolean committed;
+
+        Slot(Update update) {
+            this.update = update;
+        }
+    }
+
+    /** Every cell of a rendering, for a subscriber that has nothing to patch yet. */
+    public static Update snapshot(long version, List<ScheduleRow> rows) {
+        List<Cell> cells = new ArrayList<>();
+        for (ScheduleRow row : rows) {
+            for (Shift shift : Shift.values()) cells.add(new Cell(row.day(), shift, row.shiftCells().get(shift.name())));
+        }
+        return new Update(version, List.copyOf(cells));
+    }
+
+    /** Both renderings hold one row per day in order, with a cell per shift. */
+    private static List<Cell> changedCells(List<ScheduleRow> before, List<ScheduleRow> after) {
+        List<Cell> cells = new ArrayList<>();
+        for (int d = 0; d < after.size(); d++) {
+            ScheduleRow row = after.get(d);
+            for (Shift shift : Shift.values()) {
+                String now = row.shiftCells().get(shift.name());
+                if (!now.equals(before.get(d).shiftCells().get(shift.name()))) {
+                    cells.add(new Cell(row.day(), shift, now));
+                }
+            }
+        }
+        return cells;
+    }
+}
@@ -0,0 +1,59 @@
+package com.schedular.service;
+
+import com.schedular.service.SchedulingService.ScheduleRow;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-side cache of the rendered schedule. Writers replace it atomically when their
+ * transaction commits, so /schedule reads never touch the database once warm.
+ */
+@Component
+public class ScheduleViewCache {
+
+    /** Identity matters: a lazy load only installs its result if nobody replaced the holder meanwhile. */
+    private record Holder(List<ScheduleRow> rows) {}
+
+    private final AtomicReference<Holder> current = new AtomicReference<>(new Holder(null));
+
+    public List<ScheduleRow> get(Supplier<List<ScheduleRow>> loader) {
+        Holder observed = current.get();
+        if (observed.rows() != null) return observed.rows();
+
+        List<ScheduleRow> loaded = List.copyOf(loader.get());
+        current.compareAndSet(observed, new Holder(loaded));
+        return loaded;
+    }
+
+    public void invalidate() {
+        current.set(new Holder(null));
+    }
+
+    /**
+     * Drops the cached view now and installs {@code rows} once the surrounding transaction
+     * commits; on rollback the cache is simply left empty to be reloaded.
+     */
+    public void replaceOnCommit(List<ScheduleRow> rows) {
+        List<ScheduleRow> next = List.copyOf(rows);
+        invalidate();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            current.set(new Holder(next));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) {
+                    current.set(new Holder(next));
+                } else {
+                    invalidate();
+                }
+            }
+        });
+    }
+}
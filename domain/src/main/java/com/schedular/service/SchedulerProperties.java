@@ -0,0 +1,75 @@
+package com.schedular.service;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Tunables under the {@code scheduler.*} prefix.
+ *
+ * @param engine           engine used when a generation request does not name one
+ * @param seed             solver seed used when a generation request does not pass one
+ * @param retainedVersions published schedule versions kept for readers; older ones are pruned
+ */
+@ConfigurationProperties("scheduler")
+public record SchedulerProperties(@DefaultValue Solver solver,
+                                  @DefaultValue ParallelGreedy parallelGreedy,
+                                  @DefaultValue FlightRecording flightRecording,
+                                  @DefaultValue("greedy") EngineType engine,
+                                  @DefaultValue("0") long seed,
+                                  @DefaultValue("10") int retainedVersions) {
+
+    /**
+     * @param passes      independent randomized passes per generation; 1 runs the plain greedy pass
+     * @param timeBudget  safety cap: passes not yet started when it runs out are skipped, and
+     *                    the schedule is then not reused for the same seed
+     * @param parallelism worker threads for the passes; 0 uses every available core
+     */
+    public record Solver(@DefaultValue("1") int passes,
+                         @DefaultValue("2s") Duration timeBudget,
+                         @DefaultValue("0") int parallelism,
+                         @DefaultValue LocalSearch localSearch) {
+
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * @param parallelism worker threads for the parallel greedy engine; 0 uses every available core
+     * @param batchSize   employees planned together before contended seats are settled in order;
+     *                    the schedule depends on this but not on the parallelism
+     */
+    public record ParallelGreedy(@DefaultValue("0") int parallelism,
+                                 @DefaultValue("8192") int batchSize) {
+
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * @param enabled            run the annealing stage after each greedy pass
+     * @param iterations         proposed moves per pass
+     * @param timeBudget         safety cap: the stage stops early once this runs out, and the
+     *                           schedule is then not reused for the same seed
+     * @param initialTemperature starting temperature in rank units, cooled linearly to zero
+     */
+    public record LocalSearch(@DefaultValue("false") boolean enabled,
+                              @DefaultValue("200000") long iterations,
+                              @DefaultValue("500ms") Duration timeBudget,
+                              @DefaultValue("1.0") double initialTemperature) {
+    }
+
+    /**
+     * @param enabled     record the scheduler's Flight Recorder events from startup
+     * @param maxAge      how much history the rolling recording keeps
+     * @param destination file the recording is written to when the app stops
+     */
+    public record FlightRecording(@DefaultValue("false") boolean enabled,
+                                  @DefaultValue("1h") Duration maxAge,
+                                  @DefaultValue("scheduler.jfr") Path destination) {
+    }
+}
@@ -0,0 +1,35 @@
+package com.schedular.service;
+
+import com.schedular.engine.ConcurrentGreedyEngine;
+import com.schedular.engine.LocalSearchOptimizer;
+import com.schedular.engine.MinCostFlowEngine;
+import com.schedular.engine.MultiStartSolver;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(SchedulerProperties.class)
+public class SchedulingConfiguration {
+
+    @Bean
+    public MultiStartSolver multiStartSolver(SchedulerProperties properties) {
+        SchedulerProperties.Solver solver = properties.solver();
+        SchedulerProperties.LocalSearch ls = solver.localSearch();
+        LocalSearchOptimizer optimizer = ls.enabled()
+                ? new LocalSearchOptimizer(ls.iterations(), ls.timeBudget(), ls.initialTemperature())
+                : null;
+        return new MultiStartSolver(solver.effectiveParallelism(), solver.passes(), solver.timeBudget(), optimizer);
+    }
+
+    @Bean
+    public ConcurrentGreedyEngine concurrentGreedyEngine(SchedulerProperties properties) {
+        SchedulerProperties.ParallelGreedy parallel = properties.parallelGreedy();
+        return new ConcurrentGreedyEngine(parallel.effectiveParallelism(), parallel.batchSize());
+    }
+
+    @Bean
+    public MinCostFlowEngine minCostFlowEngine() {
+        return new MinCostFlowEngine();
+    }
+}
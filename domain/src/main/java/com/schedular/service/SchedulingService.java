@@ -1,13 +1,33 @@
 package com.schedular.service;
 
 import com.schedular.domain.*;
+import com.schedular.engine.ConcurrentGreedyEngine;
+import com.schedular.engine.IncrementalRepair;
+import com.schedular.engine.MinCostFlowEngine;
+import com.schedular.engine.MultiStartSolver;
+import com.schedular.engine.PreferenceTable;
+import com.schedular.engine.ScheduleDiff;
+import com.schedular.engine.ScheduleEngine;
+import com.schedular.engine.ScheduleKernel;
+import com.schedular.engine.SchedulingProblem;
+import com.schedular.repo.AssignmentRow;
 import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.PreferenceRow;
+import com.schedular.repo.PublishedScheduleRepository;
+import com.schedular.repo.ScheduleCell;
+import com.schedular.repo.ScheduleVersionRepository;
 import com.schedular.repo.ShiftAssignmentRepository;
-import com.schedular.repo.ShiftRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 public class SchedulingService {
@@ -17,166 +37,329 @@ public class SchedulingService {
     private static final int MAX_DAYS_PER_EMPLOYEE = 5;
 
     private final EmployeeRepository employeeRepo;
-    private final ShiftRepository shiftRepo;
     private final ShiftAssignmentRepository assignmentRepo;
+    private final ScheduleVersionRepository versionRepo;
+    private final PublishedScheduleRepository publishedRepo;
+    private final int retainedVersions;
+    private final Map<EngineType, ScheduleEngine> engines = new EnumMap<>(EngineType.class);
+    private final EngineType defaultEngine;
+    private final long defaultSeed;
+    private final ScheduleViewCache viewCache;
+    private final GenerationMetrics metrics;
+    private final ContentVersion contentVersion;
+    private final ScheduleUpdates updates;
+    private final AtomicReference<Generated> lastGenerated = new AtomicReference<>();
 
     public SchedulingService(EmployeeRepository employeeRepo,
-                             ShiftRepository shiftRepo,
-                             ShiftAssignmentRepository assignmentRepo) {
+                             ShiftAssignmentRepository assignmentRepo,
+                             ScheduleVersionRepository versionRepo,
+                             PublishedScheduleRepository publishedRepo,
+                             MultiStartSolver solver,
+                             ConcurrentGreedyEngine parallelGreedy,
+                             MinCostFlowEngine flowEngine,
+                             SchedulerProperties properties,
+                             ScheduleViewCache viewCache,
+                             GenerationMetrics metrics,
+                             ContentVersion contentVersion,
+                             ScheduleUpdates updates) {
         this.employeeRepo = employeeRepo;
-        this.shiftRepo = shiftRepo;
         this.assignmentRepo = assignmentRepo;
+        this.versionRepo = versionRepo;
+        this.publishedRepo = publishedRepo;
+        this.retainedVersions = Math.max(1, properties.retainedVersions());
+        this.engines.put(EngineType.GREEDY, solver);
+        this.engines.put(EngineType.PARALLEL_GREEDY, parallelGreedy);
+        this.engines.put(EngineType.FLOW, flowEngine);
+        this.defaultEngine = properties.engine();
+        this.defaultSeed = properties.seed();
+        this.viewCache = viewCache;
+        this.metrics = metrics;
+        this.contentVersion = contentVersion;
+        this.updates = updates;
+    }
+
+    /** Engine used when a request does not pick one, set by {@code scheduler.engine}. */
+    public EngineType getDefaultEngine() {
+        return defaultEngine;
+    }
+
+    /** Seed used when a request does not pass one, set by {@code scheduler.seed}. */
+    public long getDefaultSeed() {
+        return defaultSeed;
     }
 
     @Transactional
     public void generateSchedule() {
-        assignmentRepo.deleteAll();
-
-        List<Employee> employees = employeeRepo.findAll();
+        generateSchedule(defaultEngine, defaultSeed, GenerationMonitor.NONE);
+    }
 
-        Map<Long, EnumMap<Day, List<Shift>>> prefs = loadPreferences(employees);
+    @Transactional
+    public void generateSchedule(GenerationMonitor monitor) {
+        generateSchedule(defaultEngine, defaultSeed, monitor);
+    }
 
-        EnumMap<Day, EnumMap<Shift, List<Employee>>> schedule = initEmptySchedule();
+    @Transactional
+    public void generateSchedule(EngineType engine, GenerationMonitor monitor) {
+        generateSchedule(engine, defaultSeed, monitor);
+    }
 
-        Map<Long, EnumMap<Day, Shift>> assignedByEmp = new HashMap<>();
-        for (Employee e : employees) {
-            assignedByEmp.put(e.getId(), new EnumMap<>(Day.class));
+    /**
+     * Regenerates the whole week on the given engine. The monitor sees each phase and can
+     * cancel the run, in which case a CancellationException rolls the transaction back.
+     * When the input fingerprint, engine and seed match the last committed generation and
+     * no other version has been published since, solving and writing are skipped. A run that a
+     * solver time budget cut short may not repeat for its seed, so it is never remembered. Every run
+     * is timed per phase, counted and traced for Flight Recorder through {@link GenerationMetrics}.
+     * A run that publishes a new version announces its changed cells through {@link ScheduleUpdates}.
+     */
+    @Transactional
+    public void generateSchedule(EngineType engine, long seed, GenerationMonitor monitor) {
+        GenerationMetrics.Run run = metrics.start(engine, seed, monitor);
+        try {
+            run.finish(generate(engine, seed, run));
+        } catch (RuntimeException e) {
+            run.fail(e);
+            throw e;
         }
+    }
 
-        for (Employee e : employees) {
-            for (Day day : Day.values()) {
-                if (assignedByEmp.get(e.getId()).size() >= MAX_DAYS_PER_EMPLOYEE) break;
-                attemptAssignWithConflictResolution(e, day, schedule, assignedByEmp, prefs);
-            }
+    private GenerationMetrics.Outcome generate(EngineType engine, long seed, GenerationMetrics.Run run) {
+        run.phaseStarted(GenerationMonitor.Phase.LOADING);
+        Input input = loadInput();
+        GenerationKey key = new GenerationKey(input.problem().fingerprint(), engine, seed);
+        Generated last = lastGenerated.get();
+        if (last != null && last.key().equals(key) && publishedRepo.currentVersion() == last.version()) {
+            return GenerationMetrics.Outcome.UNCHANGED;
         }
 
-        ensureMinimumStaffing(schedule, assignedByEmp, employees, new Random());
-
-        persist(schedule);
+        run.phaseStarted(GenerationMonitor.Phase.SOLVING);
+        ScheduleKernel kernel = engines.get(engine).solve(input.problem(), seed, run);
+        run.solved(kernel);
+
+        run.phaseStarted(GenerationMonitor.Phase.PERSISTING);
+        Stored stored = loadStored(input);
+        long version = publish(input, ScheduleDiff.between(stored.kernel(), kernel), stored);
+        List<ScheduleRow> view = toView(kernel, input.employees());
+        viewCache.replaceOnCommit(view);
+        if (version != stored.version()) {
+            contentVersion.advanceOnCommit();
+            updates.publishOnCommit(version, toView(stored.kernel(), input.employees()), view);
+        }
+        if (kernel.cutShort()) {
+            lastGenerated.set(null);
+        } else {
+            rememberOnCommit(new Generated(key, version));
+        }
+        return GenerationMetrics.Outcome.REGENERATED;
     }
 
-    private Map<Long, EnumMap<Day, List<Shift>>> loadPreferences(List<Employee> employees) {
-        Map<Long, EnumMap<Day, List<Shift>>> prefs = new HashMap<>();
+    /** Everything a generated schedule depends on. */
+    private record GenerationKey(long fingerprint, EngineType engine, long seed) {}
 
-        for (Employee e : employees) {
-            EnumMap<Day, List<Shift>> map = new EnumMap<>(Day.class);
-            for (Day d : Day.values()) map.put(d, new ArrayList<>());
+    /** The last committed generation and the version it left published. */
+    private record Generated(GenerationKey key, long version) {}
 
-            List<ShiftPreference> rows = shiftRepo.findByEmployeeIdOrderByDayAscRankAsc(e.getId());
-            for (ShiftPreference p : rows) {
-                map.get(p.getDay()).add(p.getShift());
-            }
-
-            for (Day d : Day.values()) {
-                List<Shift> list = map.get(d);
-                for (Shift s : Shift.values()) {
-                    if (!list.contains(s)) list.add(s);
-                }
-            }
-
-            prefs.put(e.getId(), map);
+    /** Forgets the last generation now and records {@code generated} once the transaction commits. */
+    private void rememberOnCommit(Generated generated) {
+        lastGenerated.set(null);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            lastGenerated.set(generated);
+            return;
         }
-        return prefs;
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_COMMITTED) lastGenerated.set(generated);
+            }
+        });
     }
 
-    private EnumMap<Day, EnumMap<Shift, List<Employee>>> initEmptySchedule() {
-        EnumMap<Day, EnumMap<Shift, List<Employee>>> schedule = new EnumMap<>(Day.class);
-        for (Day day : Day.values()) {
-            EnumMap<Shift, List<Employee>> shiftMap = new EnumMap<>(Shift.class);
-            for (Shift shift : Shift.values()) shiftMap.put(shift, new ArrayList<>());
-            schedule.put(day, shiftMap);
+    /**
+     * Repairs the stored schedule after one employee's preferences changed: only that
+     * employee is re-planned (plus swaps and backfill it cascades into), and a new version
+     * holding only the assignment rows that actually differ is published. Backfill draws from
+     * the configured seed mixed with the employee and the version being repaired, so the same
+     * edit on the same schedule always repairs it the same way.
+     *
+     * @return number of employee-days whose shift changed
+     */
+    @Transactional
+    public int rescheduleEmployee(Long employeeId) {
+        Input input = loadInput();
+        Integer index = input.indexById().get(employeeId);
+        if (index == null) return 0;
+
+        Stored before = loadStored(input);
+        if (!before.hasRows()) return 0;
+        ScheduleKernel after = before.kernel().copy();
+        IncrementalRepair.reschedule(after, index, new Random(repairSeed(employeeId, before.version())));
+
+        List<ScheduleDiff.Change> changes = ScheduleDiff.between(before.kernel(), after);
+        long version = publish(input, changes, before);
+        if (!changes.isEmpty()) {
+            List<ScheduleRow> view = toView(after, input.employees());
+            viewCache.replaceOnCommit(view);
+            updates.publishOnCommit(version, toView(before.kernel(), input.employees()), view);
         }
-        return schedule;
+        return changes.size();
     }
 
-    private boolean isAvailable(Employee e, Day day, Map<Long, EnumMap<Day, Shift>> assignedByEmp) {
-        EnumMap<Day, Shift> assigned = assignedByEmp.get(e.getId());
-        return !assigned.containsKey(day) && assigned.size() < MAX_DAYS_PER_EMPLOYEE;
+    private long repairSeed(long employeeId, long version) {
+        return defaultSeed ^ employeeId * 0x9E3779B97F4A7C15L ^ version * 0xC2B2AE3D27D4EB4FL;
     }
 
-    private void attemptAssignWithConflictResolution(
-            Employee emp,
-            Day day,
-            EnumMap<Day, EnumMap<Shift, List<Employee>>> schedule,
-            Map<Long, EnumMap<Day, Shift>> assignedByEmp,
-            Map<Long, EnumMap<Day, List<Shift>>> prefs
-    ) {
-        if (!isAvailable(emp, day, assignedByEmp)) return;
+    /** Employees, their dense indexes and the engine input built from them. */
+    private record Input(List<Employee> employees, Map<Long, Integer> indexById, SchedulingProblem problem) {}
+
+    /**
+     * Maps employees and their packed rankings onto the engine's dense indexes; the
+     * rankings come with the employees, so this is a single query. Days without a stored
+     * preference fall back to the natural shift order.
+     */
+    private Input loadInput() {
+        List<Employee> employees = employeeRepo.findAll();
+        long[] ids = new long[employees.size()];
+        Map<Long, Integer> indexById = new HashMap<>();
+        PreferenceTable table = new PreferenceTable(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            ids[i] = employees.get(i).getId();
+            indexById.put(ids[i], i);
+            table.preferAll(i, employees.get(i).getPreferences());
+        }
+
+        SchedulingProblem problem = new SchedulingProblem(ids, table.toRankings(),
+                SHIFT_CAPACITY, MIN_EMPLOYEES_PER_SHIFT, MAX_DAYS_PER_EMPLOYEE);
+        return new Input(employees, indexById, problem);
+    }
 
-        List<Shift> prefList = prefs.get(emp.getId()).get(day);
+    /**
+     * The published version as a kernel, each row's id by employee-day, and the ids of stray
+     * rows that could not be placed (unknown employee, second shift on a day, over capacity).
+     */
+    private record Stored(long version, ScheduleKernel kernel, long[] rowIds, List<Long> strays) {
 
-        for (Shift s : prefList) {
-            if (tryAssign(emp, day, s, schedule, assignedByEmp)) return;
+        boolean hasRows() {
+            return !strays.isEmpty() || Arrays.stream(rowIds).anyMatch(id -> id != 0);
         }
+    }
 
-        for (int i = day.ordinal() + 1; i < Day.values().length; i++) {
-            Day nextDay = Day.values()[i];
-            if (!isAvailable(emp, nextDay, assignedByEmp)) continue;
+    /**
+     * Locks the published-version pointer for the rest of the transaction, so writers build
+     * versions one after another, and loads the version it points at. The row always exists,
+     * seeded by {@link PublishedPointerSeed}.
+     */
+    private Stored loadStored(Input input) {
+        long version = publishedRepo.lockPointer()
+                .orElseThrow(() -> new IllegalStateException("The published schedule pointer row is missing"))
+                .getVersionId();
+        List<AssignmentRow> rows = assignmentRepo.findRows(version);
+        ScheduleKernel kernel = new ScheduleKernel(input.problem());
+        long[] rowIds = new long[input.employees().size() * SchedulingProblem.DAYS];
+        List<Long> strays = new ArrayList<>();
+        for (AssignmentRow row : rows) {
+            Integer e = input.indexById().get(row.employeeId());
+            int day = row.day().ordinal();
+            int shift = row.shift().ordinal();
+            if (e != null && kernel.isAvailable(e, day) && kernel.hasRoom(day, shift)) {
+                kernel.assign(e, day, shift);
+                rowIds[e * SchedulingProblem.DAYS + day] = row.id();
+            } else {
+                strays.add(row.id());
+            }
+        }
+        return new Stored(version, kernel, rowIds, strays);
+    }
 
-            List<Shift> nextPrefs = prefs.get(emp.getId()).get(nextDay);
-            for (Shift s : nextPrefs) {
-                if (tryAssign(emp, nextDay, s, schedule, assignedByEmp)) return;
+    /**
+     * Publishes the diff as a new version: rows whose employee-day changed or went away, and
+     * stray rows, are ended at the new version in one statement; new and changed employee-days
+     * are inserted through Hibernate's JDBC batching. Published rows are never modified, so
+     * readers of older versions are unaffected. Versions beyond the retention limit are pruned.
+     *
+     * @return the version published afterwards, unchanged if there was nothing to write
+     */
+    private long publish(Input input, List<ScheduleDiff.Change> changes, Stored stored) {
+        if (changes.isEmpty() && stored.strays().isEmpty()) return stored.version();
+
+        long version = versionRepo.save(new ScheduleVersion(Instant.now())).getId();
+        Day[] days = Day.values();
+        Shift[] shifts = Shift.values();
+        List<Long> ended = new ArrayList<>(stored.strays());
+        List<ShiftAssignment> inserts = new ArrayList<>();
+        for (ScheduleDiff.Change c : changes) {
+            if (c.before() != ScheduleKernel.UNASSIGNED) {
+                ended.add(stored.rowIds()[c.employee() * SchedulingProblem.DAYS + c.day()]);
+            }
+            if (c.after() != ScheduleKernel.UNASSIGNED) {
+                Employee employee = input.employees().get(c.employee());
+                inserts.add(new ShiftAssignment(employee, days[c.day()], shifts[c.after()], version));
             }
         }
+        assignmentRepo.endAllRows(ended, version);
+        assignmentRepo.saveAll(inserts);
+        publishedRepo.save(new PublishedSchedule(version));
+        pruneVersions();
+        return version;
     }
 
-    private boolean tryAssign(
-            Employee emp,
-            Day day,
-            Shift shift,
-            EnumMap<Day, EnumMap<Shift, List<Employee>>> schedule,
-            Map<Long, EnumMap<Day, Shift>> assignedByEmp
-    ) {
-        if (!isAvailable(emp, day, assignedByEmp)) return false;
+    /** Drops versions older than the newest {@code retainedVersions}, and the rows only they could see. */
+    private void pruneVersions() {
+        List<Long> newest = versionRepo.findNewestIds(PageRequest.of(0, retainedVersions));
+        if (newest.size() < retainedVersions) return;
+        long oldestKept = newest.get(newest.size() - 1);
+        assignmentRepo.deleteEndedBy(oldestKept);
+        versionRepo.deleteOlderThan(oldestKept);
+    }
 
-        List<Employee> slot = schedule.get(day).get(shift);
-        if (slot.size() >= SHIFT_CAPACITY) return false;
+    /**
+     * For GUI display: List of rows, each row has day + pre-joined strings per shift.
+     * Avoids complex Thymeleaf expressions. Served from {@link ScheduleViewCache}; a cold
+     * cache is filled with a single query that joins in employee names.
+     */
+    public List<ScheduleRow> getScheduleView() {
+        return viewCache.get(this::loadScheduleView);
+    }
 
-        slot.add(emp);
-        assignedByEmp.get(emp.getId()).put(day, shift);
-        return true;
+    /**
+     * The whole table as one update labelled with the published version, for a subscriber
+     * that has seen nothing newer than {@code seenVersion}; empty when it is up to date. Read
+     * from the database rather than the view cache, so the cells are never older than the label.
+     */
+    @Transactional(readOnly = true)
+    public Optional<ScheduleUpdates.Update> getScheduleSnapshotAfter(long seenVersion) {
+        long version = publishedRepo.currentVersion();
+        if (version <= seenVersion) return Optional.empty();
+        return Optional.of(ScheduleUpdates.snapshot(version, loadScheduleView()));
     }
 
-    private void ensureMinimumStaffing(
-            EnumMap<Day, EnumMap<Shift, List<Employee>>> schedule,
-            Map<Long, EnumMap<Day, Shift>> assignedByEmp,
-            List<Employee> employees,
-            Random rng
-    ) {
-        for (Day day : Day.values()) {
-            for (Shift shift : Shift.values()) {
-                List<Employee> slot = schedule.get(day).get(shift);
-
-                while (slot.size() < MIN_EMPLOYEES_PER_SHIFT && slot.size() < SHIFT_CAPACITY) {
-                    List<Employee> candidates = new ArrayList<>();
-                    for (Employee e : employees) {
-                        if (isAvailable(e, day, assignedByEmp)) candidates.add(e);
-                    }
-                    if (candidates.isEmpty()) break;
-
-                    Employee chosen = candidates.get(rng.nextInt(candidates.size()));
-                    slot.add(chosen);
-                    assignedByEmp.get(chosen.getId()).put(day, shift);
-                }
-            }
+    private List<ScheduleRow> loadScheduleView() {
+        Map<Day, Map<Shift, List<String>>> view = emptyView();
+        for (ScheduleCell cell : assignmentRepo.findPublishedCells()) {
+            view.get(cell.day()).get(cell.shift()).add(cell.employeeName());
         }
+        return toRows(view);
     }
 
-    private void persist(EnumMap<Day, EnumMap<Shift, List<Employee>>> schedule) {
-        for (Day day : Day.values()) {
-            for (Shift shift : Shift.values()) {
-                for (Employee e : schedule.get(day).get(shift)) {
-                    assignmentRepo.save(new ShiftAssignment(e, day, shift));
+    /** Renders a freshly computed schedule without reading it back from the database. */
+    private List<ScheduleRow> toView(ScheduleKernel kernel, List<Employee> employees) {
+        Map<Day, Map<Shift, List<String>>> view = emptyView();
+        Day[] days = Day.values();
+        Shift[] shifts = Shift.values();
+        for (int e = 0; e < employees.size(); e++) {
+            for (int day = 0; day < days.length; day++) {
+                int shift = kernel.shiftOf(e, day);
+                if (shift != ScheduleKernel.UNASSIGNED) {
+                    view.get(days[day]).get(shifts[shift]).add(employees.get(e).getName());
                 }
             }
         }
+        for (Map<Shift, List<String>> shiftMap : view.values()) {
+            for (List<String> names : shiftMap.values()) Collections.sort(names);
+        }
+        return toRows(view);
     }
 
-    /**
-     * For GUI display: List of rows, each row has day + pre-joined strings per shift.
-     * Avoids complex Thymeleaf expressions.
-     */
-    public List<ScheduleRow> getScheduleView() {
+    private static Map<Day, Map<Shift, List<String>>> emptyView() {
         Map<Day, Map<Shift, List<String>>> view = new LinkedHashMap<>();
         for (Day day : Day.values()) {
             Map<Shift, List<String>> shiftMap = new LinkedHashMap<>();
@@ -185,12 +368,10 @@ public class SchedulingService {
             }
             view.put(day, shiftMap);
         }
+        return view;
+    }
 
-        List<ShiftAssignment> all = assignmentRepo.findAll();
-        for (ShiftAssignment a : all) {
-            view.get(a.getDay()).get(a.getShift()).add(a.getEmployee().getName());
-        }
-
+    private static List<ScheduleRow> toRows(Map<Day, Map<Shift, List<String>>> view) {
         List<ScheduleRow> rows = new ArrayList<>();
         for (Day day : Day.values()) {
             Map<String, String> cells = new LinkedHashMap<>();
@@ -198,7 +379,7 @@ public class SchedulingService {
                 List<String> names = view.get(day).get(shift);
                 cells.put(shift.name(), names.isEmpty() ? "" : String.join(", ", names));
             }
-            rows.add(new ScheduleRow(day, cells));
+            rows.add(new ScheduleRow(day, Collections.unmodifiableMap(cells)));
         }
         return rows;
     }
@@ -210,14 +391,42 @@ public class SchedulingService {
      */
     public Map<Long, Map<String, Map<Integer, String>>> getPreferencesByEmployee() {
         Map<Long, Map<String, Map<Integer, String>>> result = new HashMap<>();
-        for (Employee e : employeeRepo.findAll()) {
+        for (PreferenceRow p : employeeRepo.findAllPreferences()) {
             Map<String, Map<Integer, String>> byDay = new HashMap<>();
-            for (ShiftPreference p : shiftRepo.findByEmployeeIdOrderByDayAscRankAsc(e.getId())) {
-                byDay.computeIfAbsent(p.getDay().name(), k -> new HashMap<>())
-                        .put(p.getRank(), p.getShift().name());
+            for (Day day : Day.values()) {
+                for (int rank = 1; rank <= SchedulingProblem.SHIFTS; rank++) {
+                    Shift shift = PackedPreferences.shift(p.preferences(), day, rank);
+                    if (shift != null) byDay.computeIfAbsent(day.name(), k -> new HashMap<>()).put(rank, shift.name());
+                }
             }
-            result.put(e.getId(), byDay);
+            result.put(p.id(), byDay);
         }
         return result;
     }
-}
\ No newline at end of file
+
+    /** One employee's ranked shifts by day, best first; days without preferences are left out. */
+    public record EmployeePreferences(Long id, String name, Map<Day, List<Shift>> rankings) {}
+
+    /**
+     * A page of employees whose name contains {@code query} (ignoring case) with their ranked
+     * shifts. One query for the page and one for its count.
+     */
+    @Transactional(readOnly = true)
+    public Page<EmployeePreferences> getPreferencesPage(String query, Pageable pageable) {
+        return employeeRepo.findByNameContainingIgnoreCase(query, pageable, PreferenceRow.class).map(p -> {
+            Map<Day, List<Shift>> rankings = new EnumMap<>(Day.class);
+            for (Day day : Day.values()) {
+                List<Shift> ranked = PackedPreferences.ranking(p.preferences(), day);
+                if (!ranked.isEmpty()) rankings.put(day, ranked);
+            }
+            return new EmployeePreferences(p.id(), p.name(), rankings);
+        });
+    }
+
+    /** Like {@link #getPreferencesPage}, shaped for the server-rendered preference form. */
+    @Transactional(readOnly = true)
+    public Page<PreferenceCard> getPreferenceCards(String query, Pageable pageable) {
+        return employeeRepo.findByNameContainingIgnoreCase(query, pageable, PreferenceRow.class)
+                .map(p -> PreferenceCard.of(p.id(), p.name(), PreferenceCard.choices(p.preferences())));
+    }
+}
@@ -0,0 +1,44 @@
+package com.schedular.service;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Counts the SQL statements Hibernate prepares on the current thread between {@link #open}
+ * and {@link #close}. Installed as Hibernate's statement inspector; threads without an open
+ * count pay a single thread-local read per statement. Plain JDBC (bulk import, migration)
+ * bypasses Hibernate and is not counted.
+ */
+@Component
+public class StatementCounter implements StatementInspector, HibernatePropertiesCustomizer {
+
+    private final ThreadLocal<int[]> current = new ThreadLocal<>();
+
+    @Override
+    public void customize(Map<String, Object> hibernateProperties) {
+        hibernateProperties.put(AvailableSettings.STATEMENT_INSPECTOR, this);
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = current.get();
+        if (count != null) count[0]++;
+        return sql;
+    }
+
+    /** Starts counting on this thread, discarding any count left open. */
+    public void open() {
+        current.set(new int[1]);
+    }
+
+    /** Stops counting on this thread; returns the count, or -1 if none was open. */
+    public int close() {
+        int[] count = current.get();
+        current.remove();
+        return count == null ? -1 : count[0];
+    }
+}
@@ -0,0 +1,58 @@
+package com.schedular.web;
+
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.EmployeeSummary;
+import com.schedular.service.SchedulingService;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PagedModel;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Paginated JSON views of employees and their preferences, searchable by name. Every
+ * response is bounded by the page size, which is capped at {@value #MAX_PAGE_SIZE}.
+ */
+@RestController
+@RequestMapping("/api/employees")
+public class EmployeeApiController {
+
+    static final int MAX_PAGE_SIZE = 100;
+
+    private final EmployeeRepository employeeRepository;
+    private final SchedulingService schedulingService;
+
+    public EmployeeApiController(EmployeeRepository employeeRepository, SchedulingService schedulingService) {
+        this.employeeRepository = employeeRepository;
+        this.schedulingService = schedulingService;
+    }
+
+    @GetMapping
+    public PagedModel<EmployeeSummary> employees(@RequestParam(defaultValue = "") String q,
+                                                 @RequestParam(defaultValue = "0") int page,
+                                                 @RequestParam(defaultValue = "20") int size) {
+        return new PagedModel<>(employeeRepository.findByNameContainingIgnoreCase(q.trim(), pageOf(page, size)));
+    }
+
+    @GetMapping("/preferences")
+    public PagedModel<SchedulingService.EmployeePreferences> preferences(@RequestParam(defaultValue = "") String q,
+                                                                         @RequestParam(defaultValue = "0") int page,
+                                                                         @RequestParam(defaultValue = "20") int size) {
+        return new PagedModel<>(schedulingService.getPreferencesPage(q.trim(), pageOf(page, size)));
+    }
+
+    /**
+     * Sorted by name ignoring case, with the id as a tie-breaker so pages never overlap. Pages
+     * are clamped so the row offset, and the end of the page, still fit JPA's int offset; such a
+     * page is simply empty.
+     */
+    static Pageable pageOf(int page, int size) {
+        Sort byName = Sort.by(Sort.Order.asc("name").ignoreCase(), Sort.Order.asc("id"));
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        int lastPage = (Integer.MAX_VALUE - pageSize) / pageSize;
+        return PageRequest.of(Math.max(0, Math.min(page, lastPage)), pageSize, byName);
+    }
+}
@@ -0,0 +1,173 @@
+package com.schedular.web;
+
+import com.schedular.service.ScheduleUpdates;
+import com.schedular.service.SchedulingService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Pushes each committed schedule change to subscribed pages as a Server-Sent Event named
+ * {@code schedule}, whose data is the {@link ScheduleUpdates.Update} as JSON and whose id is the
+ * published version. Idle subscribers are async requests parked in the container and hold
+ * no thread.
+ * <p>
+ * Each subscriber keeps at most one pending update; updates arriving while it is still being
+ * written to are merged into that one, so a slow page skips straight to the latest table.
+ * A small pool of sender threads drains subscribers independently. Writes block, but the
+ * container fails a write that makes no progress for {@code server.tomcat.connection-timeout},
+ * which drops the subscriber and frees its thread; a stalled peer therefore holds up the
+ * others for that long at most. Subscriptions time out after a while and browsers reconnect
+ * on their own. Open subscriptions are exposed as the {@code scheduler.sse.subscribers} gauge.
+ * <p>
+ * A new subscription first receives the whole table as one update, unless its
+ * {@code Last-Event-ID} shows it has already seen the published version, so a page that
+ * reconnects catches up on whatever it missed in between.
+ */
+@RestController
+public class ScheduleEventsController implements ApplicationListener<ContextClosedEvent> {
+
+    static final String EVENT_NAME = "schedule";
+
+    private static final Duration SUBSCRIPTION_TIMEOUT = Duration.ofMinutes(30);
+    private static final int SENDER_THREADS = 4;
+
+    private final SchedulingService schedulingService;
+    private final JsonMapper jsonMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final AtomicReference<Encoded> lastEncoded = new AtomicReference<>();
+    private volatile boolean closed;
+
+    public ScheduleEventsController(ScheduleUpdates updates, SchedulingService schedulingService,
+                                    JsonMapper jsonMapper, MeterRegistry registry) {
+        this.schedulingService = schedulingService;
+        this.jsonMapper = jsonMapper;
+        AtomicInteger threads = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(SENDER_THREADS, r -> {
+            Thread thread = new Thread(r, "schedule-events-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        Gauge.builder("scheduler.sse.subscribers", subscribers, Set::size)
+                .description("Open subscriptions to schedule change events")
+                .register(registry);
+        updates.subscribe(this::offer);
+    }
+
+    @GetMapping(path = "/schedule/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribe(@RequestHeader(name = "Last-Event-ID", required = false) String lastEventId) {
+        SseEmitter emitter = new SseEmitter(SUBSCRIPTION_TIMEOUT.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        subscribers.add(subscriber);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> subscribers.remove(subscriber));
+        // Read after subscribing, so any update committed meanwhile is either in the snapshot
+        // or offered on top of it; merging keeps whichever version is newer.
+        schedulingService.getScheduleSnapshotAfter(seenVersion(lastEventId)).ifPresent(subscriber::offer);
+        return emitter;
+    }
+
+    /** Event ids are published versions; a missing or garbled one counts as nothing seen. */
+    private static long seenVersion(String lastEventId) {
+        if (lastEventId == null) return -1;
+        try {
+            return Long.parseLong(lastEventId.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /** Runs on the committing thread: only merges and schedules, never writes. */
+    private void offer(ScheduleUpdates.Update update) {
+        if (closed) return;
+        for (Subscriber subscriber : subscribers) subscriber.offer(update);
+    }
+
+    private void execute(Subscriber subscriber) {
+        if (closed) return;
+        try {
+            senders.execute(subscriber);
+        } catch (RejectedExecutionException e) {
+            // shutting down; the subscription is about to be completed anyway
+        }
+    }
+
+    /** Subscribers mostly receive the very same update, so it is serialized once. */
+    private String encode(ScheduleUpdates.Update update) {
+        Encoded encoded = lastEncoded.get();
+        if (encoded != null && encoded.update() == update) return encoded.data();
+        String data = jsonMapper.writeValueAsString(update);
+        lastEncoded.set(new Encoded(update, data));
+        return data;
+    }
+
+    private record Encoded(ScheduleUpdates.Update update, String data) {}
+
+    /** One open stream and the update waiting for it, if any. */
+    private final class Subscriber implements Runnable {
+
+        final SseEmitter emitter;
+        private final AtomicReference<ScheduleUpdates.Update> pending = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        void offer(ScheduleUpdates.Update update) {
+            pending.accumulateAndGet(update, (waiting, next) -> waiting == null ? next : waiting.then(next));
+            if (scheduled.compareAndSet(false, true)) execute(this);
+        }
+
+        /** Writes pending updates until none is left; a failed or timed-out write ends the subscription. */
+        @Override
+        public void run() {
+            ScheduleUpdates.Update update;
+            while ((update = pending.getAndSet(null)) != null) {
+                try {
+                    emitter.send(SseEmitter.event()
+                            .name(EVENT_NAME)
+                            .id(Long.toString(update.version()))
+                            .data(encode(update), MediaType.APPLICATION_JSON));
+                } catch (IOException | IllegalStateException e) {
+                    subscribers.remove(this);
+                    return;
+                }
+            }
+            scheduled.set(false);
+            if (pending.get() != null && scheduled.compareAndSet(false, true)) execute(this);
+        }
+    }
+
+    /**
+     * Ends open subscriptions as soon as shutdown begins; the web server's graceful shutdown
+     * would otherwise wait for them to time out. Updates committed from then on are ignored.
+     */
+    @Override
+    public void onApplicationEvent(ContextClosedEvent event) {
+        closed = true;
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) subscriber.emitter.complete();
+        subscribers.clear();
+    }
+}
@@ -3,30 +3,72 @@ package com.schedular.web;
 import com.schedular.domain.Day;
 import com.schedular.domain.Employee;
 import com.schedular.domain.Shift;
-import com.schedular.domain.ShiftPreference;
 import com.schedular.repo.EmployeeRepository;
-import com.schedular.repo.ShiftRepository;
+import com.schedular.service.ContentVersion;
+import com.schedular.service.EmployeeImportService;
+import com.schedular.service.EngineType;
+import com.schedular.service.PreferenceCard;
+import com.schedular.service.ScheduleExportService;
+import com.schedular.service.ScheduleJob;
+import com.schedular.service.ScheduleJobService;
 import com.schedular.service.SchedulingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
 import java.util.Map;
 
 @Controller
 public class SchedulerController {
 
+    private static final int PREFERENCE_PAGE_SIZE = 20;
+
     private final EmployeeRepository employeeRepository;
-    private final ShiftRepository shiftPreferenceRepository;
     private final SchedulingService schedulingService;
+    private final ScheduleJobService jobService;
+    private final EmployeeImportService importService;
+    private final ScheduleExportService exportService;
+    private final ContentVersion contentVersion;
 
     public SchedulerController(EmployeeRepository employeeRepository,
-                               ShiftRepository shiftPreferenceRepository,
-                               SchedulingService schedulingService) {
+                               SchedulingService schedulingService,
+                               ScheduleJobService jobService,
+                               EmployeeImportService importService,
+                               ScheduleExportService exportService,
+                               ContentVersion contentVersion) {
         this.employeeRepository = employeeRepository;
-        this.shiftPreferenceRepository = shiftPreferenceRepository;
         this.schedulingService = schedulingService;
+        this.jobService = jobService;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.contentVersion = contentVersion;
+    }
+
+    /**
+     * Answers a conditional GET with 304 when the client's copy matches the current
+     * {@link ContentVersion}, before any service call or rendering; otherwise stamps the
+     * response with its ETag and Last-Modified. Clients are told to revalidate every time.
+     */
+    private boolean notModified(ServletWebRequest request) {
+        ContentVersion.Stamp stamp = contentVersion.current();
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        return request.checkNotModified(stamp.etag(), stamp.lastModified());
     }
 
     @GetMapping("/")
@@ -45,21 +87,56 @@ public class SchedulerController {
         name = name.trim();
         if (!name.isEmpty() && employeeRepository.findByNameIgnoreCase(name).isEmpty()) {
             employeeRepository.save(new Employee(name));
+            contentVersion.advanceOnCommit();
         }
         return "redirect:/employees";
     }
 
+    /**
+     * Streams a bulk upload of employees and ranked shifts, one record per line, and reports
+     * what was written and which lines were rejected. The format follows the content type:
+     * text/csv or application/x-ndjson.
+     */
+    @PostMapping(path = "/employees/import", consumes = {"text/csv", "application/x-ndjson"})
+    @ResponseBody
+    public EmployeeImportService.ImportReport importEmployees(@RequestHeader(HttpHeaders.CONTENT_TYPE) String contentType,
+                                                             InputStream body) throws IOException {
+        MediaType type = MediaType.parseMediaType(contentType);
+        EmployeeImportService.Format format = type.isCompatibleWith(MediaType.parseMediaType("text/csv"))
+                ? EmployeeImportService.Format.CSV
+                : EmployeeImportService.Format.NDJSON;
+        return importService.importEmployees(body, format);
+    }
+
+    /** Renders the first page of preference cards; the page script appends the rest from /preferences/cards. */
     @GetMapping("/preferences")
-    public String preferences(Model model) {
-        model.addAttribute("employees", employeeRepository.findAll());
-        model.addAttribute("days", Day.values());
-        model.addAttribute("shifts", Shift.values());
-        model.addAttribute("existingPrefs", schedulingService.getPreferencesByEmployee());
+    public String preferences(ServletWebRequest request, Model model) {
+        if (notModified(request)) return null;
+        addPreferenceCards(model, "", 0, PREFERENCE_PAGE_SIZE);
         return "preferences";
     }
 
+    /** One page of preference cards as an HTML fragment, for scrolling and searching. */
+    @GetMapping("/preferences/cards")
+    public String preferenceCards(@RequestParam(defaultValue = "") String q,
+                                  @RequestParam(defaultValue = "0") int page,
+                                  @RequestParam(defaultValue = "20") int size,
+                                  ServletWebRequest request,
+                                  Model model) {
+        if (notModified(request)) return null;
+        addPreferenceCards(model, q, page, size);
+        return "preferences :: cards";
+    }
+
+    private void addPreferenceCards(Model model, String query, int page, int size) {
+        model.addAttribute("cards", schedulingService.getPreferenceCards(query.trim(),
+                EmployeeApiController.pageOf(page, size)));
+        model.addAttribute("rows", PreferenceCard.ROWS);
+        model.addAttribute("shifts", Shift.values());
+    }
+
     /**
-     * Saves ranked preferences for one employee.
+     * Saves ranked preferences for one employee and repairs their part of the current schedule.
      * Form fields expected: pref1_MON, pref2_MON, pref3_MON ... for all days
      */
     @PostMapping("/preferences/{employeeId}")
@@ -69,22 +146,22 @@ public class SchedulerController {
 
         Employee emp = employeeRepository.findById(employeeId).orElseThrow();
 
-        // Remove old prefs
-        shiftPreferenceRepository.deleteByEmployee(emp);
-
-        // Save new prefs (with null-safe parsing)
+        // Days without all three ranks are cleared (with null-safe parsing)
         for (Day day : Day.values()) {
             Shift s1 = parseShift(params.get("pref1_" + day.name()));
             Shift s2 = parseShift(params.get("pref2_" + day.name()));
             Shift s3 = parseShift(params.get("pref3_" + day.name()));
 
             if (s1 != null && s2 != null && s3 != null) {
-                shiftPreferenceRepository.save(new ShiftPreference(emp, day, 1, s1));
-                shiftPreferenceRepository.save(new ShiftPreference(emp, day, 2, s2));
-                shiftPreferenceRepository.save(new ShiftPreference(emp, day, 3, s3));
+                emp.prefer(day, s1, s2, s3);
+            } else {
+                emp.prefer(day);
             }
         }
 
+        schedulingService.rescheduleEmployee(emp.getId());
+        contentVersion.advanceOnCommit();
+
         return "redirect:/preferences";
     }
 
@@ -97,17 +174,68 @@ public class SchedulerController {
         }
     }
 
+    /** The published schedule; while a job is followed its status changes on its own, so that view is never 304. */
     @GetMapping("/schedule")
-    public String schedule(Model model) {
+    public String schedule(@RequestParam(required = false) String job, ServletWebRequest request, Model model) {
+        if (job == null && notModified(request)) return null;
         model.addAttribute("days", Day.values());
         model.addAttribute("shifts", Shift.values());
         model.addAttribute("schedule", schedulingService.getScheduleView());
+        model.addAttribute("engines", EngineType.values());
+        model.addAttribute("defaultEngine", schedulingService.getDefaultEngine());
+        model.addAttribute("defaultSeed", schedulingService.getDefaultSeed());
+        if (job != null) {
+            jobService.find(job).ifPresent(j -> model.addAttribute("job", j.status()));
+        }
         return "schedule";
     }
 
+    /**
+     * Starts generation in the background (or joins the one already running) and
+     * sends the browser to the schedule page, which polls the job until it finishes.
+     * Engine and seed default to the configured ones; the same seed on unchanged input
+     * reuses the stored schedule.
+     */
     @PostMapping("/schedule/generate")
-    public String generateSchedule() {
-        schedulingService.generateSchedule();
-        return "redirect:/schedule";
+    public String generateSchedule(@RequestParam(required = false) EngineType engine,
+                                   @RequestParam(required = false) Long seed) {
+        ScheduleJob job = engine == null && seed == null ? jobService.submit() : jobService.submit(engine, seed);
+        return "redirect:/schedule?job=" + job.getId();
+    }
+
+    /**
+     * Streams the published schedule as CSV, NDJSON or iCalendar, optionally narrowed to a
+     * day, shift or employee. Calendar events fall in the week starting on {@code week}
+     * (a Monday), by default the current one.
+     */
+    @GetMapping("/schedule/export")
+    public ResponseEntity<StreamingResponseBody> exportSchedule(
+            @RequestParam(defaultValue = "CSV") ScheduleExportService.Format format,
+            @RequestParam(required = false) Day day,
+            @RequestParam(required = false) Shift shift,
+            @RequestParam(required = false) Long employee,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate week) {
+        ScheduleExportService.Filter filter = new ScheduleExportService.Filter(day, shift, employee);
+        LocalDate monday = (week != null ? week : LocalDate.now())
+                .with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(format.mediaType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.inline()
+                        .filename("schedule." + format.extension()).build().toString())
+                .body(out -> exportService.export(filter, format, monday, out));
+    }
+
+    @GetMapping("/schedule/jobs/{jobId}")
+    @ResponseBody
+    public ScheduleJob.Status jobStatus(@PathVariable String jobId) {
+        return jobService.find(jobId)
+                .map(ScheduleJob::status)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown job " + jobId));
+    }
+
+    @PostMapping("/schedule/jobs/{jobId}/cancel")
+    public String cancelJob(@PathVariable String jobId) {
+        jobService.cancel(jobId);
+        return "redirect:/schedule?job=" + jobId;
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package com.schedular.web;
+
+import com.schedular.service.StatementCounter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Records how many Hibernate statements each request ran, as the
+ * {@code scheduler.http.statements} summary tagged by method and URI pattern. Responses
+ * streamed after the handler returns (the schedule exports) are counted up to that point.
+ */
+@Component
+public class StatementMetricsInterceptor implements AsyncHandlerInterceptor, WebMvcConfigurer {
+
+    private final StatementCounter counter;
+    private final MeterRegistry registry;
+
+    public StatementMetricsInterceptor(StatementCounter counter, MeterRegistry registry) {
+        this.counter = counter;
+        this.registry = registry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry interceptors) {
+        interceptors.addInterceptor(this).excludePathPatterns("/actuator/**", "/h2-console/**");
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() != DispatcherType.ASYNC) counter.open();
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+                                               Object handler) {
+        record(request);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        record(request);
+    }
+
+    private void record(HttpServletRequest request) {
+        int statements = counter.close();
+        if (statements < 0) return;
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        DistributionSummary.builder("scheduler.http.statements")
+                .description("Hibernate statements run per request")
+                .tags("method", request.getMethod(), "uri", pattern != null ? pattern.toString() : "UNKNOWN")
+                .register(registry)
+                .record(statements);
+    }
+}
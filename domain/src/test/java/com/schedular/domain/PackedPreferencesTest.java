@@ -0,0 +1,52 @@
+package com.schedular.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackedPreferencesTest {
+
+    @Test
+    void withDay_replacesOnlyThatDay() {
+        long packed = PackedPreferences.withDay(PackedPreferences.NONE, Day.MON,
+                List.of(Shift.EVENING, Shift.MORNING, Shift.AFTERNOON));
+        packed = PackedPreferences.withDay(packed, Day.SUN, List.of(Shift.AFTERNOON));
+        packed = PackedPreferences.withDay(packed, Day.MON, List.of(Shift.MORNING));
+
+        assertEquals(List.of(Shift.MORNING), PackedPreferences.ranking(packed, Day.MON));
+        assertEquals(List.of(Shift.AFTERNOON), PackedPreferences.ranking(packed, Day.SUN));
+        assertEquals(List.of(), PackedPreferences.ranking(packed, Day.WED));
+        assertEquals(2, PackedPreferences.count(packed));
+    }
+
+    @Test
+    void everySlotRoundTrips_withinFortyTwoBits() {
+        long packed = PackedPreferences.NONE;
+        for (Day day : Day.values()) {
+            packed = PackedPreferences.withDay(packed, day, List.of(Shift.EVENING, Shift.EVENING, Shift.EVENING));
+        }
+
+        assertEquals(21, PackedPreferences.count(packed));
+        assertEquals(0, packed >>> 42);
+        for (Day day : Day.values()) {
+            for (int rank = 1; rank <= 3; rank++) assertEquals(Shift.EVENING, PackedPreferences.shift(packed, day, rank));
+        }
+    }
+
+    @Test
+    void withShiftAt_clearsWithMinusOne() {
+        long packed = PackedPreferences.withShiftAt(PackedPreferences.NONE, Day.TUE.ordinal(), 1, Shift.MORNING.ordinal());
+
+        assertNull(PackedPreferences.shift(packed, Day.TUE, 1));
+        assertEquals(Shift.MORNING, PackedPreferences.shift(packed, Day.TUE, 2));
+        assertEquals(PackedPreferences.NONE, PackedPreferences.withShiftAt(packed, Day.TUE.ordinal(), 1, -1));
+    }
+
+    @Test
+    void withDay_rejectsMoreThanThreeShifts() {
+        assertThrows(IllegalArgumentException.class, () -> PackedPreferences.withDay(PackedPreferences.NONE, Day.MON,
+                List.of(Shift.MORNING, Shift.AFTERNOON, Shift.EVENING, Shift.MORNING)));
+    }
+}
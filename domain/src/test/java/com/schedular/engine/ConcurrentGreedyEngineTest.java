@@ -0,0 +1,78 @@
+package com.schedular.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CancellationException;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrentGreedyEngineTest {
+
+    private static ScheduleKernel assign(ConcurrentGreedyEngine engine, SchedulingProblem problem) {
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        engine.assignPreferences(kernel, MultiStartSolver.identity(problem.employeeCount()), SolveMonitor.NONE);
+        return kernel;
+    }
+
+    private static void assertSameSchedule(ScheduleKernel expected, ScheduleKernel actual) {
+        for (int e = 0; e < expected.problem().employeeCount(); e++) {
+            for (int day = 0; day < DAYS; day++) {
+                assertEquals(expected.shiftOf(e, day), actual.shiftOf(e, day), "employee " + e + " day " + day);
+            }
+        }
+        assertEquals(expected.conflictsResolved(), actual.conflictsResolved(), "conflicts resolved");
+        assertEquals(expected.spillovers(), actual.spillovers(), "spillovers");
+    }
+
+    @Test
+    void assignPreferences_matchesTheSequentialPass_withBatchesOfOne() {
+        SchedulingProblem problem = TestProblems.skewed(300, 4, 20, 2, 5);
+        ScheduleKernel sequential = new ScheduleKernel(problem);
+        GreedyAssigner.assignPreferences(sequential);
+
+        try (ConcurrentGreedyEngine engine = new ConcurrentGreedyEngine(4, 1)) {
+            assertSameSchedule(sequential, assign(engine, problem));
+        }
+    }
+
+    @Test
+    void assignPreferences_doesNotDependOnParallelism() {
+        SchedulingProblem problem = TestProblems.skewed(2_000, 9, 40, 2, 5);
+        try (ConcurrentGreedyEngine single = new ConcurrentGreedyEngine(1, 256);
+             ConcurrentGreedyEngine many = new ConcurrentGreedyEngine(8, 256)) {
+
+            assertSameSchedule(assign(single, problem), assign(many, problem));
+        }
+    }
+
+    @Test
+    void solve_keepsConstraints() {
+        SchedulingProblem problem = TestProblems.skewed(500, 2, 2, 2, 5);
+        try (ConcurrentGreedyEngine engine = new ConcurrentGreedyEngine(4, 64)) {
+            ScheduleKernel kernel = engine.solve(problem, 1);
+
+            for (int day = 0; day < DAYS; day++) {
+                for (int shift = 0; shift < SHIFTS; shift++) {
+                    assertEquals(2, kernel.slotCount(day, shift));
+                }
+            }
+            for (int e = 0; e < problem.employeeCount(); e++) {
+                assertTrue(kernel.daysWorked(e) <= 5);
+            }
+        }
+    }
+
+    @Test
+    void solve_stopsWhenCancelled() {
+        SchedulingProblem problem = TestProblems.skewed(50, 3, 2, 2, 5);
+        SolveMonitor cancelled = new SolveMonitor() {
+            @Override
+            public boolean isCancelled() { return true; }
+        };
+        try (ConcurrentGreedyEngine engine = new ConcurrentGreedyEngine(2, 16)) {
+            assertThrows(CancellationException.class, () -> engine.solve(problem, 0, cancelled));
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.schedular.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class GreedyAssignerTest {
+
+    private static final int MORNING = 0;
+    private static final int AFTERNOON = 1;
+    private static final int EVENING = 2;
+
+    static SchedulingProblem problem(int employees, int firstChoice) {
+        PreferenceTable table = new PreferenceTable(employees);
+        long[] ids = new long[employees];
+        for (int e = 0; e < employees; e++) {
+            ids[e] = e + 1;
+            for (int day = 0; day < DAYS; day++) table.prefer(e, day, firstChoice);
+        }
+        return new SchedulingProblem(ids, table.toRankings(), 2, 2, 5);
+    }
+
+    @Test
+    void preferenceTable_completesRankingInNaturalOrder() {
+        PreferenceTable table = new PreferenceTable(1);
+        table.prefer(0, 0, EVENING);
+        table.prefer(0, 0, EVENING);
+        SchedulingProblem problem = new SchedulingProblem(new long[]{1}, table.toRankings(), 2, 2, 5);
+
+        assertEquals(EVENING, problem.preferredShift(0, 0, 0));
+        assertEquals(MORNING, problem.preferredShift(0, 0, 1));
+        assertEquals(AFTERNOON, problem.preferredShift(0, 0, 2));
+        assertEquals(0, problem.rankOf(0, 0, EVENING));
+        assertEquals(MORNING, problem.preferredShift(0, 1, 0));
+    }
+
+    @Test
+    void assignPreferences_fallsBackToNextRankWhenSlotIsFull() {
+        ScheduleKernel kernel = new ScheduleKernel(problem(3, EVENING));
+
+        GreedyAssigner.assignPreferences(kernel);
+
+        assertEquals(EVENING, kernel.shiftOf(0, 0));
+        assertEquals(EVENING, kernel.shiftOf(1, 0));
+        assertEquals(MORNING, kernel.shiftOf(2, 0));
+    }
+
+    @Test
+    void assignPreferences_respectsCapacityAndMaxDays() {
+        ScheduleKernel kernel = new ScheduleKernel(problem(20, MORNING));
+
+        GreedyAssigner.assignPreferences(kernel);
+
+        for (int day = 0; day < DAYS; day++) {
+            for (int shift = 0; shift < SHIFTS; shift++) {
+                assertTrue(kernel.slotCount(day, shift) <= 2);
+            }
+        }
+        for (int e = 0; e < 20; e++) {
+            assertTrue(kernel.daysWorked(e) <= 5);
+        }
+    }
+
+    @Test
+    void assignPreferences_countsConflictsAndSpillovers() {
+        ScheduleKernel kernel = new ScheduleKernel(problem(7, EVENING));
+
+        GreedyAssigner.assignPreferences(kernel);
+
+        // Six employees fill Monday to Friday, four of them below their first choice;
+        // the seventh finds every weekday full and spills onto the weekend twice.
+        assertEquals(32, kernel.assignments());
+        assertEquals(22, kernel.conflictsResolved());
+        assertEquals(2, kernel.spillovers());
+        assertEquals(0, kernel.backfills());
+    }
+
+    @Test
+    void ensureMinimumStaffing_fillsEverySlotWhenEnoughEmployeesAreFree() {
+        ScheduleKernel kernel = new ScheduleKernel(problem(12, MORNING));
+
+        GreedyAssigner.ensureMinimumStaffing(kernel, new Random(7));
+
+        for (int day = 0; day < DAYS; day++) {
+            for (int shift = 0; shift < SHIFTS; shift++) {
+                assertEquals(2, kernel.slotCount(day, shift));
+            }
+        }
+        assertEquals(DAYS * SHIFTS * 2, kernel.backfills());
+    }
+}
@@ -0,0 +1,95 @@
+package com.schedular.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class LocalSearchOptimizerTest {
+
+    private static final int MORNING = 0;
+    private static final int AFTERNOON = 1;
+    private static final int EVENING = 2;
+
+    /**
+     * One seat per slot. Employees 0 and 1 rank MORNING > AFTERNOON > EVENING, employee 2 ranks
+     * AFTERNOON first. Greedy in order gives 0/1/2 ranks 0, 1, 2 (cost 3 per day); the optimum
+     * gives employee 2 the afternoon and costs 2 per day.
+     */
+    private static SchedulingProblem orderSensitiveProblem() {
+        PreferenceTable table = new PreferenceTable(3);
+        for (int day = 0; day < DAYS; day++) {
+            table.prefer(0, day, MORNING);
+            table.prefer(1, day, MORNING);
+            table.prefer(2, day, AFTERNOON);
+        }
+        return new SchedulingProblem(new long[]{1, 2, 3}, table.toRankings(), 1, 1, 7);
+    }
+
+    @Test
+    void improve_findsBetterAssignmentThanGreedyOrder() {
+        ScheduleKernel kernel = new ScheduleKernel(orderSensitiveProblem());
+        GreedyAssigner.assignPreferences(kernel);
+        assertEquals(3 * DAYS, kernel.rankCost());
+
+        ScheduleKernel improved = new LocalSearchOptimizer(50_000, Duration.ofSeconds(10), 1.0)
+                .improve(kernel, new Random(3));
+
+        assertEquals(2 * DAYS, improved.rankCost());
+        assertEquals(0, ScheduleScore.of(improved).understaffedSeats());
+        assertFalse(improved.cutShort());
+    }
+
+    @Test
+    void improve_marksARunTheTimeBudgetStopped() {
+        ScheduleKernel kernel = new ScheduleKernel(orderSensitiveProblem());
+        GreedyAssigner.assignPreferences(kernel);
+
+        ScheduleKernel improved = new LocalSearchOptimizer(50_000, Duration.ofMillis(-1), 1.0)
+                .improve(kernel, new Random(3));
+
+        assertTrue(improved.cutShort());
+        assertEquals(3 * DAYS, improved.rankCost(), "No move should run once the budget is spent");
+    }
+
+    @Test
+    void improve_stopsWhenCancelled() {
+        ScheduleKernel kernel = new ScheduleKernel(orderSensitiveProblem());
+        GreedyAssigner.assignPreferences(kernel);
+        SolveMonitor cancelled = new SolveMonitor() {
+            @Override
+            public boolean isCancelled() { return true; }
+        };
+
+        LocalSearchOptimizer optimizer = new LocalSearchOptimizer(Long.MAX_VALUE, Duration.ofHours(1), 1.0);
+
+        assertThrows(CancellationException.class, () -> optimizer.improve(kernel, new Random(3), cancelled));
+    }
+
+    @Test
+    void improve_neverBreaksConstraintsOrWorsensScore() {
+        SchedulingProblem problem = TestProblems.skewed(25, 17, 2, 2, 5);
+        ScheduleKernel kernel = new ScheduleKernel(problem);
+        GreedyAssigner.assignPreferences(kernel);
+        GreedyAssigner.ensureMinimumStaffing(kernel, new Random(1));
+        ScheduleScore before = ScheduleScore.of(kernel);
+
+        ScheduleKernel improved = new LocalSearchOptimizer(20_000, Duration.ofSeconds(10), 2.0)
+                .improve(kernel, new Random(5));
+
+        assertTrue(ScheduleScore.of(improved).compareTo(before) <= 0);
+        for (int day = 0; day < DAYS; day++) {
+            for (int shift = 0; shift < SHIFTS; shift++) {
+                assertTrue(improved.slotCount(day, shift) <= 2);
+            }
+        }
+        for (int e = 0; e < problem.employeeCount(); e++) {
+            assertTrue(improved.daysWorked(e) <= 5);
+        }
+    }
+}
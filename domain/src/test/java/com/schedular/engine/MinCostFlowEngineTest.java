@@ -0,0 +1,148 @@
+package com.schedular.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MinCostFlowEngineTest {
+
+    private final MinCostFlowEngine engine = new MinCostFlowEngine();
+
+    @Test
+    void solve_isNeverWorseThanTheGreedySolver() {
+        try (MultiStartSolver greedy = new MultiStartSolver(4, 8, Duration.ofSeconds(10),
+                new LocalSearchOptimizer(50_000, Duration.ofSeconds(1), 1.0))) {
+            for (int employees : new int[]{3, 9, 12, 40}) {
+                for (long seed = 0; seed < 5; seed++) {
+                    SchedulingProblem problem = TestProblems.skewed(employees, seed, 2, 2, 5);
+
+                    ScheduleScore exact = ScheduleScore.of(engine.solve(problem, 0));
+                    ScheduleScore heuristic = ScheduleScore.of(greedy.solve(problem, seed));
+
+                    assertTrue(exact.compareTo(heuristic) <= 0,
+                            exact + " should not be worse than " + heuristic + " for " + employees + " employees");
+                }
+            }
+        }
+    }
+
+    @Test
+    void solve_givesEveryoneTheirFirstChoice_whenThereIsNoContention() {
+        // Six employees, each owning one seat of the week: 3 shifts x 2 seats, every day.
+        int employees = 6;
+        PreferenceTable table = new PreferenceTable(employees);
+        long[] ids = new long[employees];
+        for (int e = 0; e < employees; e++) {
+            ids[e] = e + 1;
+            for (int day = 0; day < DAYS; day++) table.prefer(e, day, e % SHIFTS);
+        }
+        SchedulingProblem problem = new SchedulingProblem(ids, table.toRankings(), 2, 2, DAYS);
+
+        ScheduleKernel kernel = engine.solve(problem, 0);
+
+        assertEquals(new ScheduleScore(0, 0), ScheduleScore.of(kernel));
+    }
+
+    @Test
+    void solve_staffsEverySeat_whenEveryoneWantsTheSameShift() {
+        // Everybody wants MORNING; 9 employees at 5 days each can just cover 42 seats.
+        int employees = 9;
+        PreferenceTable table = new PreferenceTable(employees);
+        long[] ids = new long[employees];
+        for (int e = 0; e < employees; e++) {
+            ids[e] = e + 1;
+            for (int day = 0; day < DAYS; day++) table.prefer(e, day, 0);
+        }
+        SchedulingProblem problem = new SchedulingProblem(ids, table.toRankings(), 2, 2, 5);
+
+        ScheduleKernel kernel = engine.solve(problem, 0);
+
+        assertEquals(0, ScheduleScore.of(kernel).understaffedSeats());
+        for (int e = 0; e < employees; e++) {
+            assertTrue(kernel.daysWorked(e) <= 5);
+        }
+    }
+
+    @Test
+    void solve_fillsSeatsAboveTheMinimumLikeTheGreedySolver() {
+        try (MultiStartSolver greedy = new MultiStartSolver(1, 1, Duration.ofSeconds(10))) {
+            for (int employees : new int[]{3, 9, 12, 40}) {
+                for (long seed = 0; seed < 5; seed++) {
+                    SchedulingProblem problem = TestProblems.skewed(employees, seed, 3, 2, 5);
+
+                    ScheduleKernel exact = engine.solve(problem, 0);
+                    ScheduleKernel heuristic = greedy.solve(problem, seed);
+
+                    assertTrue(exact.assignments() >= heuristic.assignments(),
+                            exact.assignments() + " seats filled, greedy filled " + heuristic.assignments());
+                    assertTrue(ScheduleScore.of(exact).understaffedSeats() <= ScheduleScore.of(heuristic).understaffedSeats());
+                }
+            }
+        }
+    }
+
+    @Test
+    void solve_staffsTheMinimumFirstAndGivesTheExtraSeatsToFirstChoices() {
+        // Five employees who all want MORNING every day; three seats a shift, one required.
+        // 35 employee-days cover the 21 required seats and leave 14 for extra mornings.
+        int employees = 5;
+        PreferenceTable table = new PreferenceTable(employees);
+        long[] ids = new long[employees];
+        for (int e = 0; e < employees; e++) {
+            ids[e] = e + 1;
+            for (int day = 0; day < DAYS; day++) table.prefer(e, day, 0);
+        }
+        SchedulingProblem problem = new SchedulingProblem(ids, table.toRankings(), 3, 1, DAYS);
+
+        ScheduleKernel kernel = engine.solve(problem, 0);
+
+        assertEquals(employees * DAYS, kernel.assignments());
+        for (int day = 0; day < DAYS; day++) {
+            assertEquals(3, kernel.slotCount(day, 0));
+            assertEquals(1, kernel.slotCount(day, 1));
+            assertEquals(1, kernel.slotCount(day, 2));
+        }
+        assertEquals(new ScheduleScore(0, DAYS * (1 + 2)), ScheduleScore.of(kernel));
+    }
+
+    @Test
+    void solve_keepsConstraints() {
+        SchedulingProblem problem = TestProblems.skewed(200, 7, 3, 2, 4);
+
+        ScheduleKernel kernel = engine.solve(problem, 0);
+
+        for (int day = 0; day < DAYS; day++) {
+            for (int shift = 0; shift < SHIFTS; shift++) {
+                assertEquals(3, kernel.slotCount(day, shift), "Enough staff to fill every seat");
+            }
+        }
+        for (int e = 0; e < problem.employeeCount(); e++) {
+            assertTrue(kernel.daysWorked(e) <= 4);
+        }
+    }
+
+    @Test
+    void solve_handlesNoEmployees() {
+        SchedulingProblem problem = TestProblems.skewed(0, 1, 2, 2, 5);
+
+        ScheduleScore score = ScheduleScore.of(engine.solve(problem, 0));
+
+        assertEquals(DAYS * SHIFTS * 2, score.understaffedSeats());
+    }
+
+    @Test
+    void solve_stopsWhenCancelled() {
+        SchedulingProblem problem = TestProblems.skewed(50, 3, 2, 2, 5);
+        SolveMonitor cancelled = new SolveMonitor() {
+            @Override
+            public boolean isCancelled() { return true; }
+        };
+
+        assertThrows(CancellationException.class, () -> engine.solve(problem, 0, cancelled));
+    }
+}
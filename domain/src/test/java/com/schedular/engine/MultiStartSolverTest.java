@@ -0,0 +1,85 @@
+package com.schedular.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MultiStartSolverTest {
+
+    @Test
+    void solve_isNeverWorseThanTheSingleGreedyPass() {
+        SchedulingProblem problem = TestProblems.skewed(15, 3, 2, 2, 5);
+        try (MultiStartSolver single = new MultiStartSolver(1, 1, Duration.ofSeconds(10));
+             MultiStartSolver multi = new MultiStartSolver(4, 16, Duration.ofSeconds(10))) {
+
+            ScheduleScore one = ScheduleScore.of(single.solve(problem, 42));
+            ScheduleScore best = ScheduleScore.of(multi.solve(problem, 42));
+
+            assertTrue(best.compareTo(one) <= 0, best + " should not be worse than " + one);
+        }
+    }
+
+    @Test
+    void solve_isDeterministicForAGivenSeed() {
+        SchedulingProblem problem = TestProblems.skewed(30, 5, 2, 2, 5);
+        try (MultiStartSolver solver = new MultiStartSolver(4, 8, Duration.ofSeconds(10))) {
+            ScheduleKernel first = solver.solve(problem, 99);
+            ScheduleKernel second = solver.solve(problem, 99);
+            assertFalse(first.cutShort());
+
+            for (int e = 0; e < problem.employeeCount(); e++) {
+                for (int day = 0; day < DAYS; day++) {
+                    assertEquals(first.shiftOf(e, day), second.shiftOf(e, day));
+                }
+            }
+        }
+    }
+
+    @Test
+    void solve_marksASolveTheTimeBudgetShortened() {
+        SchedulingProblem problem = TestProblems.skewed(30, 5, 2, 2, 5);
+        try (MultiStartSolver solver = new MultiStartSolver(1, 4, Duration.ofMillis(-1))) {
+            ScheduleKernel kernel = solver.solve(problem, 99);
+
+            assertTrue(kernel.cutShort(), "Passes skipped for time should make the result non-repeatable");
+        }
+    }
+
+    @Test
+    void solve_stopsLocalSearchWhenCancelledDuringAPass() {
+        SchedulingProblem problem = TestProblems.skewed(15, 3, 2, 2, 5);
+        AtomicInteger checks = new AtomicInteger();
+        SolveMonitor cancelledOnceStarted = new SolveMonitor() {
+            @Override
+            public boolean isCancelled() { return checks.incrementAndGet() > 1; }
+        };
+        try (MultiStartSolver solver = new MultiStartSolver(1, 1, Duration.ofSeconds(10),
+                new LocalSearchOptimizer(Long.MAX_VALUE, Duration.ofHours(1), 1.0))) {
+
+            assertThrows(CancellationException.class, () -> solver.solve(problem, 42, cancelledOnceStarted));
+        }
+    }
+
+    @Test
+    void solve_keepsConstraints() {
+        SchedulingProblem problem = TestProblems.skewed(40, 11, 2, 2, 5);
+        try (MultiStartSolver solver = new MultiStartSolver(2, 6, Duration.ofSeconds(10))) {
+            ScheduleKernel kernel = solver.solve(problem, 1);
+
+            for (int day = 0; day < DAYS; day++) {
+                for (int shift = 0; shift < SHIFTS; shift++) {
+                    assertEquals(2, kernel.slotCount(day, shift));
+                }
+            }
+            for (int e = 0; e < problem.employeeCount(); e++) {
+                assertTrue(kernel.daysWorked(e) <= 5);
+            }
+        }
+    }
+}
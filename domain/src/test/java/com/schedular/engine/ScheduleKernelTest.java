@@ -0,0 +1,65 @@
+package com.schedular.engine;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleKernelTest {
+
+    @Test
+    void unassign_releasesSlotAndDay() {
+        ScheduleKernel kernel = new ScheduleKernel(GreedyAssignerTest.problem(1, 0));
+        assertTrue(kernel.tryAssign(0, 3, 1));
+
+        kernel.unassign(0, 3);
+
+        assertEquals(ScheduleKernel.UNASSIGNED, kernel.shiftOf(0, 3));
+        assertEquals(0, kernel.slotCount(3, 1));
+        assertEquals(0, kernel.daysWorked(0));
+        assertTrue(kernel.isAvailable(0, 3));
+    }
+
+    @Test
+    void availability_dropsEmployeeFromEveryDayAtMaxDays() {
+        ScheduleKernel kernel = new ScheduleKernel(GreedyAssignerTest.problem(2, 0));
+        for (int day = 0; day < 5; day++) kernel.assign(0, day, 0);
+
+        assertFalse(kernel.isAvailable(0, 5));
+        assertFalse(kernel.isAvailable(0, 6));
+        assertEquals(1, kernel.availableCount(6));
+
+        kernel.unassign(0, 2);
+
+        assertTrue(kernel.isAvailable(0, 2));
+        assertTrue(kernel.isAvailable(0, 6));
+        assertFalse(kernel.isAvailable(0, 1));
+        assertEquals(2, kernel.availableCount(6));
+    }
+
+    @Test
+    void randomAvailable_onlyReturnsFreeEmployees() {
+        ScheduleKernel kernel = new ScheduleKernel(GreedyAssignerTest.problem(4, 0));
+        kernel.assign(1, 0, 0);
+        kernel.assign(3, 0, 2);
+
+        Random rng = new Random(1);
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 100; i++) seen.add(kernel.randomAvailable(0, rng));
+
+        assertEquals(Set.of(0, 2), seen);
+        assertEquals(4, kernel.availableCount(DAYS - 1));
+    }
+
+    @Test
+    void randomAvailable_returnsMinusOneWhenNobodyIsFree() {
+        ScheduleKernel kernel = new ScheduleKernel(GreedyAssignerTest.problem(1, 0));
+        kernel.assign(0, 0, 0);
+
+        assertEquals(-1, kernel.randomAvailable(0, new Random()));
+    }
+}
@@ -0,0 +1,24 @@
+package com.schedular.engine;
+
+import java.util.Random;
+
+import static com.schedular.engine.SchedulingProblem.DAYS;
+import static com.schedular.engine.SchedulingProblem.SHIFTS;
+
+/** Scheduling problems shared by the engine tests. */
+final class TestProblems {
+
+    private TestProblems() {}
+
+    /** Employees whose first choice for each day is random, seeded; ids run from 1. */
+    static SchedulingProblem skewed(int employees, long seed, int capacity, int min, int maxDays) {
+        Random rng = new Random(seed);
+        PreferenceTable table = new PreferenceTable(employees);
+        long[] ids = new long[employees];
+        for (int e = 0; e < employees; e++) {
+            ids[e] = e + 1;
+            for (int day = 0; day < DAYS; day++) table.prefer(e, day, rng.nextInt(SHIFTS));
+        }
+        return new SchedulingProblem(ids, table.toRankings(), capacity, min, maxDays);
+    }
+}
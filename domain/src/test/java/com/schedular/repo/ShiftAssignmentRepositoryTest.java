@@ -0,0 +1,61 @@
+package com.schedular.repo;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.Shift;
+import com.schedular.domain.ShiftAssignment;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ShiftAssignmentRepositoryTest {
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepo.deleteAll();
+        employeeRepo.deleteAll();
+    }
+
+    @Test
+    void endAllRows_endsEveryRow_acrossSeveralStatements() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        List<ShiftAssignment> rows = new ArrayList<>();
+        for (int i = 0; i < 2 * ShiftAssignmentRepository.END_ROWS_CHUNK + 1; i++) {
+            rows.add(new ShiftAssignment(alice, Day.MON, Shift.MORNING, 1));
+        }
+        List<Long> ids = assignmentRepo.saveAll(rows).stream().map(ShiftAssignment::getId).toList();
+        ShiftAssignment untouched = assignmentRepo.save(new ShiftAssignment(alice, Day.TUE, Shift.MORNING, 1));
+        entityManager.flush();
+        entityManager.clear();
+
+        int ended = assignmentRepo.endAllRows(ids, 2);
+
+        assertEquals(ids.size(), ended);
+        assertEquals(ids.size(), assignmentRepo.findAllById(ids).stream().filter(a -> Long.valueOf(2).equals(a.getVersionTo())).count());
+        assertNull(assignmentRepo.findById(untouched.getId()).orElseThrow().getVersionTo());
+    }
+
+    @Test
+    void endAllRows_doesNothingForNoIds() {
+        assertEquals(0, assignmentRepo.endAllRows(List.of(), 2));
+    }
+}
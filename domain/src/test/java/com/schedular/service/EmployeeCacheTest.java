@@ -0,0 +1,100 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.PackedPreferences;
+import com.schedular.domain.Shift;
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.PreferenceRow;
+import com.schedular.repo.PublishedScheduleRepository;
+import com.schedular.repo.ScheduleVersionRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Hibernate neither reads nor fills the query cache for tables the current transaction wrote,
+// so this runs without a test transaction and cleans up after itself.
+@SpringBootTest
+class EmployeeCacheTest {
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private ScheduleVersionRepository versionRepo;
+
+    @Autowired
+    private PublishedScheduleRepository publishedRepo;
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics stats;
+
+    @BeforeEach
+    @AfterEach
+    void clearTables() {
+        publishedRepo.resetPointer();
+        versionRepo.deleteAllInBatch();
+        assignmentRepo.deleteAllInBatch();
+        employeeRepo.deleteAllInBatch();
+        stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void lookups_areServedFromTheCache_untilAnEmployeeIsAddedOrChanged() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        employeeRepo.findAll();
+        employeeRepo.findByNameIgnoreCase("alice");
+        employeeRepo.findAllPreferences();
+
+        stats.clear();
+        assertEquals(List.of("Alice"), employeeRepo.findAll().stream().map(Employee::getName).toList());
+        assertTrue(employeeRepo.findByNameIgnoreCase("alice").isPresent());
+        assertEquals(0, employeeRepo.findAllPreferences().get(0).preferences());
+        assertEquals(0, stats.getPrepareStatementCount(), "Warm lookups should not reach the database");
+        assertEquals(3, stats.getQueryCacheHitCount());
+
+        employeeRepo.save(new Employee("Bob"));
+        assertEquals(2, employeeRepo.findAll().size(), "Adding an employee should invalidate cached lists");
+        assertTrue(employeeRepo.findByNameIgnoreCase("bob").isPresent());
+
+        alice.prefer(Day.MON, Shift.EVENING);
+        employeeRepo.save(alice);
+        PreferenceRow row = employeeRepo.findAllPreferences().get(0);
+        assertEquals(Shift.EVENING, PackedPreferences.shift(row.preferences(), Day.MON, 1),
+                "Saved preferences should invalidate cached rows");
+        assertEquals(List.of(Shift.EVENING), employeeRepo.findById(alice.getId()).orElseThrow().getRanking(Day.MON));
+    }
+
+    @Test
+    void importEmployees_evictsWhatItWroteAroundHibernate() throws Exception {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        employeeRepo.findAll();
+        employeeRepo.findById(alice.getId());
+
+        importService.importEmployees(new ByteArrayInputStream(
+                "Alice,TUE,AFTERNOON\nBob,,\n".getBytes(StandardCharsets.UTF_8)), EmployeeImportService.Format.CSV);
+
+        assertEquals(2, employeeRepo.findAll().size());
+        assertEquals(List.of(Shift.AFTERNOON), employeeRepo.findById(alice.getId()).orElseThrow().getRanking(Day.TUE));
+    }
+}
@@ -0,0 +1,176 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.PackedPreferences;
+import com.schedular.domain.Shift;
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class EmployeeImportServiceTest {
+
+    @Autowired
+    private EmployeeImportService importService;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        assignmentRepo.deleteAll();
+        employeeRepo.deleteAll();
+        entityManager.flush();
+    }
+
+    private EmployeeImportService.ImportReport importText(String text, EmployeeImportService.Format format)
+            throws IOException {
+        EmployeeImportService.ImportReport report = importService.importEmployees(
+                new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)), format);
+        entityManager.clear();
+        return report;
+    }
+
+    private List<Shift> ranking(String name, Day day) {
+        return employeeRepo.findByNameIgnoreCase(name).orElseThrow().getRanking(day);
+    }
+
+    @Test
+    void importEmployees_readsCsvWithHeaderAndQuotedNames() throws IOException {
+        EmployeeImportService.ImportReport report = importText("""
+                name,day,first,second,third
+                Alice,MON,MORNING,AFTERNOON,EVENING
+                Alice,tue,evening
+                "Smith, Bob",SAT,AFTERNOON,MORNING
+                Carol
+                """, EmployeeImportService.Format.CSV);
+
+        assertEquals(4, report.records());
+        assertEquals(3, report.employeesCreated());
+        assertEquals(6, report.preferencesWritten());
+        assertEquals(0, report.rejected());
+        assertEquals(List.of(Shift.MORNING, Shift.AFTERNOON, Shift.EVENING), ranking("Alice", Day.MON));
+        assertEquals(List.of(Shift.EVENING), ranking("Alice", Day.TUE));
+        assertEquals(List.of(Shift.AFTERNOON, Shift.MORNING), ranking("Smith, Bob", Day.SAT));
+        assertTrue(employeeRepo.findByNameIgnoreCase("Carol").isPresent());
+    }
+
+    @Test
+    void importEmployees_readsNdjson() throws IOException {
+        EmployeeImportService.ImportReport report = importText("""
+                {"name": "Alice", "day": "WED", "shifts": ["EVENING", "MORNING"]}
+                {"name": "Bob"}
+                """, EmployeeImportService.Format.NDJSON);
+
+        assertEquals(2, report.employeesCreated());
+        assertEquals(List.of(Shift.EVENING, Shift.MORNING), ranking("Alice", Day.WED));
+        assertTrue(employeeRepo.findByNameIgnoreCase("Bob").isPresent());
+    }
+
+    @Test
+    void importEmployees_matchesExistingNamesExactly_andReplacesOnlyImportedDays() throws IOException {
+        Employee alice = new Employee("Alice");
+        alice.prefer(Day.MON, Shift.MORNING, Shift.AFTERNOON);
+        alice.prefer(Day.TUE, Shift.MORNING);
+        employeeRepo.save(alice);
+        entityManager.flush();
+
+        EmployeeImportService.ImportReport report = importText("""
+                Alice,MON,EVENING
+                ALICE,MON,AFTERNOON
+                """, EmployeeImportService.Format.CSV);
+
+        assertEquals(1, report.employeesCreated(), "Names differing in case are different employees");
+        assertEquals(0, report.rejected());
+        assertEquals(2, employeeRepo.count());
+        Employee stored = employeeRepo.findById(alice.getId()).orElseThrow();
+        assertEquals(List.of(Shift.EVENING), stored.getRanking(Day.MON));
+        assertEquals(List.of(Shift.MORNING), stored.getRanking(Day.TUE));
+    }
+
+    @Test
+    void importEmployees_takesOnlyTheWholeHeaderLineForAHeader() throws IOException {
+        EmployeeImportService.ImportReport report = importText("""
+                name,MON,MORNING
+                Bob,TUE,EVENING
+                """, EmployeeImportService.Format.CSV);
+
+        assertEquals(2, report.records());
+        assertEquals(2, report.employeesCreated());
+        assertEquals(List.of(Shift.MORNING), ranking("name", Day.MON));
+    }
+
+    @Test
+    void importEmployees_reportsBadRecordsByLine_andKeepsTheRest() throws IOException {
+        EmployeeImportService.ImportReport report = importText("""
+                Alice,MON,MORNING
+                ,MON,MORNING
+                Bob,FUNDAY,MORNING
+                Bob,MON,MORNING,MORNING
+                Bob,MON,NIGHT
+                Bob,MON
+                Alice,MON,EVENING
+                "Unterminated,MON,MORNING
+                Dan,MON,MORNING,AFTERNOON,EVENING,MORNING
+                Bob,TUE,AFTERNOON
+                """, EmployeeImportService.Format.CSV);
+
+        assertEquals(10, report.records());
+        assertEquals(8, report.rejected());
+        assertEquals(List.of(2L, 3L, 4L, 5L, 6L, 8L, 9L, 7L),
+                report.errors().stream().map(EmployeeImportService.RowError::line).toList());
+        assertEquals(List.of(Shift.MORNING), ranking("Alice", Day.MON), "The first record for a day wins");
+        assertEquals(List.of(Shift.AFTERNOON), ranking("Bob", Day.TUE));
+    }
+
+    @Test
+    void importEmployees_reportsMalformedJson() throws IOException {
+        EmployeeImportService.ImportReport report = importText("""
+                {"name": "Alice", "day": "MON", "shifts": ["MORNING"]}
+                {"name": "Bob",
+                """, EmployeeImportService.Format.NDJSON);
+
+        assertEquals(1, report.rejected());
+        assertEquals(2, report.errors().get(0).line());
+        assertTrue(report.errors().get(0).message().startsWith("Malformed JSON"));
+    }
+
+    @Test
+    void importEmployees_writesAcrossChunks() throws IOException {
+        int employees = EmployeeImportService.CHUNK_SIZE / Day.values().length + 50;
+        StringBuilder csv = new StringBuilder();
+        for (int e = 0; e < employees; e++) {
+            for (Day day : Day.values()) {
+                csv.append("Employee ").append(e).append(',').append(day).append(",MORNING,EVENING\n");
+            }
+        }
+
+        EmployeeImportService.ImportReport report = importText(csv.toString(), EmployeeImportService.Format.CSV);
+
+        assertEquals(0, report.rejected());
+        assertEquals(employees, report.employeesCreated());
+        assertEquals(employees, employeeRepo.count());
+        assertEquals(employees * Day.values().length * 2L, employeeRepo.findAll().stream()
+                .mapToLong(e -> PackedPreferences.count(e.getPreferences())).sum());
+    }
+}
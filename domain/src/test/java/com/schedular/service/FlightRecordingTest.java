@@ -0,0 +1,45 @@
+package com.schedular.service;
+
+import jdk.jfr.RecordingState;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void settings_layTheSchedulerProfileOverTheDefaultOne() {
+        Map<String, String> settings = FlightRecording.settings();
+
+        assertEquals("true", settings.get("com.schedular.Generation#enabled"));
+        assertEquals("true", settings.get("com.schedular.GenerationPhase#enabled"));
+        assertEquals("true", settings.get("com.schedular.Assignment#enabled"));
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+        assertEquals("true", settings.get("jdk.JavaMonitorEnter#enabled"));
+    }
+
+    @Test
+    void recording_runsFromStartupAndIsWrittenOnShutdown() throws Exception {
+        Path destination = dir.resolve("scheduler.jfr");
+        SchedulerProperties properties = new SchedulerProperties(null, null,
+                new SchedulerProperties.FlightRecording(true, Duration.ofMinutes(5), destination),
+                EngineType.GREEDY, 0, 10);
+        FlightRecording flightRecording = new FlightRecording(properties);
+
+        flightRecording.afterPropertiesSet();
+        assertEquals(RecordingState.RUNNING, flightRecording.recording().getState());
+        assertEquals(FlightRecording.NAME, flightRecording.recording().getName());
+
+        flightRecording.destroy();
+        assertTrue(Files.size(destination) > 0);
+    }
+}
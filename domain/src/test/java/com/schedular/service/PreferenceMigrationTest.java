@@ -0,0 +1,80 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.Shift;
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.PublishedScheduleRepository;
+import com.schedular.repo.ScheduleVersionRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// DDL commits on its own, so this runs without a test transaction and cleans up after itself.
+@SpringBootTest
+class PreferenceMigrationTest {
+
+    @Autowired
+    private PreferenceMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbc;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private ScheduleVersionRepository versionRepo;
+
+    @Autowired
+    private PublishedScheduleRepository publishedRepo;
+
+    @BeforeEach
+    @AfterEach
+    void clearTables() {
+        jdbc.execute("DROP TABLE IF EXISTS " + PreferenceMigration.LEGACY_TABLE);
+        publishedRepo.resetPointer();
+        versionRepo.deleteAll();
+        assignmentRepo.deleteAll();
+        employeeRepo.deleteAll();
+    }
+
+    @Test
+    void migrate_packsLegacyRowsIntoEmployees_andDropsTheTable() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        Employee bob = employeeRepo.save(new Employee("Bob"));
+        jdbc.execute("CREATE TABLE shift_preference (id BIGINT AUTO_INCREMENT PRIMARY KEY, employee_id BIGINT NOT NULL, "
+                + "day_name VARCHAR(255) NOT NULL, pref_rank INT NOT NULL, shift_name VARCHAR(255) NOT NULL)");
+        String insert = "INSERT INTO shift_preference (employee_id, day_name, pref_rank, shift_name) VALUES (?, ?, ?, ?)";
+        jdbc.update(insert, alice.getId(), "MON", 2, "MORNING");
+        jdbc.update(insert, alice.getId(), "MON", 1, "EVENING");
+        jdbc.update(insert, alice.getId(), "FRI", 1, "AFTERNOON");
+        jdbc.update(insert, alice.getId(), "SAT", 4, "MORNING");
+        jdbc.update(insert, bob.getId(), "TUE", 1, "NIGHT");
+
+        assertEquals(1, migration.migrate());
+
+        Employee migrated = employeeRepo.findById(alice.getId()).orElseThrow();
+        assertEquals(List.of(Shift.EVENING, Shift.MORNING), migrated.getRanking(Day.MON));
+        assertEquals(List.of(Shift.AFTERNOON), migrated.getRanking(Day.FRI));
+        assertEquals(List.of(), migrated.getRanking(Day.SAT), "Ranks outside 1-3 are dropped");
+        assertEquals(0, employeeRepo.findById(bob.getId()).orElseThrow().getPreferences());
+        assertEquals(0, migration.migrate(), "The legacy table is gone after the first run");
+    }
+
+    @Test
+    void migrate_doesNothingWithoutTheLegacyTable() {
+        assertEquals(0, migration.migrate());
+    }
+}
@@ -0,0 +1,128 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.Shift;
+import com.schedular.domain.ShiftAssignment;
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.PublishedScheduleRepository;
+import com.schedular.repo.ScheduleVersionRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@Transactional
+class ScheduleExportServiceTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    @Autowired
+    private ScheduleExportService exportService;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private ScheduleVersionRepository versionRepo;
+
+    @Autowired
+    private PublishedScheduleRepository publishedRepo;
+
+    private Employee alice;
+    private Employee bob;
+
+    @BeforeEach
+    void setUp() {
+        publishedRepo.resetPointer();
+        versionRepo.deleteAll();
+        assignmentRepo.deleteAll();
+        employeeRepo.deleteAll();
+
+        alice = employeeRepo.save(new Employee("Alice"));
+        bob = employeeRepo.save(new Employee("Smith, \"Bob\""));
+        assignmentRepo.save(new ShiftAssignment(alice, Day.MON, Shift.MORNING));
+        assignmentRepo.save(new ShiftAssignment(alice, Day.TUE, Shift.EVENING));
+        assignmentRepo.save(new ShiftAssignment(bob, Day.MON, Shift.AFTERNOON));
+    }
+
+    private String export(ScheduleExportService.Filter filter, ScheduleExportService.Format format) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(filter, format, MONDAY, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void export_writesCsvGroupedByEmployee_withQuotedNames() throws IOException {
+        String csv = export(ScheduleExportService.Filter.ALL, ScheduleExportService.Format.CSV);
+
+        List<String> lines = csv.lines().toList();
+        assertEquals("employee_id,employee,day,shift", lines.get(0));
+        assertEquals(4, lines.size());
+        assertTrue(lines.subList(1, 3).containsAll(List.of(
+                alice.getId() + ",Alice,MON,MORNING",
+                alice.getId() + ",Alice,TUE,EVENING")));
+        assertEquals(bob.getId() + ",\"Smith, \"\"Bob\"\"\",MON,AFTERNOON", lines.get(3));
+    }
+
+    @Test
+    void export_writesOneJsonObjectPerLine() throws IOException {
+        String ndjson = export(new ScheduleExportService.Filter(null, null, bob.getId()),
+                ScheduleExportService.Format.NDJSON);
+
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).contains("\"employeeId\":" + bob.getId()));
+        assertTrue(lines.get(0).contains("\"day\":\"MON\""));
+        assertTrue(lines.get(0).contains("\"shift\":\"AFTERNOON\""));
+    }
+
+    @Test
+    void export_filtersByDayAndShift() throws IOException {
+        String byDay = export(new ScheduleExportService.Filter(Day.MON, null, null), ScheduleExportService.Format.CSV);
+        String byShift = export(new ScheduleExportService.Filter(null, Shift.EVENING, null), ScheduleExportService.Format.CSV);
+
+        assertEquals(3, byDay.lines().count());
+        assertEquals(List.of("employee_id,employee,day,shift", alice.getId() + ",Alice,TUE,EVENING"),
+                byShift.lines().toList());
+    }
+
+    @Test
+    void export_writesCalendarEventsDatedInTheRequestedWeek() throws IOException {
+        String ics = export(new ScheduleExportService.Filter(Day.TUE, null, null), ScheduleExportService.Format.ICALENDAR);
+
+        assertTrue(ics.startsWith("BEGIN:VCALENDAR\r\n"));
+        assertTrue(ics.endsWith("END:VCALENDAR\r\n"));
+        assertTrue(ics.contains("UID:" + alice.getId() + "-2026-03-03@schedular\r\n"));
+        assertTrue(ics.contains("DTSTART:20260303T220000\r\n"));
+        assertTrue(ics.contains("DTEND:20260304T060000\r\n"));
+        assertTrue(ics.contains("SUMMARY:Alice - EVENING\r\n"));
+        assertEquals(1, ics.lines().filter("BEGIN:VEVENT"::equals).count());
+    }
+
+    @Test
+    void export_leavesOutRowsOfOtherVersions() throws IOException {
+        ShiftAssignment ended = assignmentRepo.findAll().stream()
+                .filter(a -> a.getEmployee().getId().equals(bob.getId()))
+                .findFirst().orElseThrow();
+        ended.setVersionTo(0L);
+
+        String csv = export(ScheduleExportService.Filter.ALL, ScheduleExportService.Format.CSV);
+
+        assertFalse(csv.contains("Bob"));
+    }
+}
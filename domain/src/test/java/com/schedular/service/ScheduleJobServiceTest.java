@@ -0,0 +1,170 @@
+package com.schedular.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+
+@SpringBootTest
+class ScheduleJobServiceTest {
+
+    @MockitoBean
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private ScheduleJobService jobService;
+
+    @Autowired
+    private ContentVersion contentVersion;
+
+    private static void awaitDone(ScheduleJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!job.isDone() && System.nanoTime() < deadline) Thread.sleep(10);
+        assertTrue(job.isDone(), "Job did not finish in time");
+    }
+
+    @Test
+    void submit_runsGenerationInBackground() throws InterruptedException {
+        ScheduleJob job = jobService.submit();
+        awaitDone(job);
+
+        assertEquals(ScheduleJob.State.SUCCEEDED, job.getState());
+        assertEquals(100, job.status().percent());
+        verify(schedulingService).generateSchedule(job);
+        assertSame(job, jobService.find(job.getId()).orElseThrow());
+    }
+
+    @Test
+    void submit_joinsJobAlreadyRunningForSameInput() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(schedulingService).generateSchedule(any(GenerationMonitor.class));
+
+        ScheduleJob first = jobService.submit();
+        ScheduleJob second = jobService.submit();
+        release.countDown();
+        awaitDone(first);
+        ScheduleJob third = jobService.submit();
+        awaitDone(third);
+
+        assertSame(first, second);
+        assertNotSame(first, third);
+    }
+
+    @Test
+    void submit_joinsOnlyJobsForTheSameEngineAndSeed() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(schedulingService).generateSchedule(any(EngineType.class), anyLong(), any(GenerationMonitor.class));
+
+        ScheduleJob greedy = jobService.submit(EngineType.GREEDY, 42L);
+        ScheduleJob sameInput = jobService.submit(EngineType.GREEDY, 42L);
+        ScheduleJob otherEngine = jobService.submit(EngineType.FLOW, 42L);
+        ScheduleJob otherSeed = jobService.submit(EngineType.GREEDY, 7L);
+        release.countDown();
+        for (ScheduleJob job : List.of(greedy, otherEngine, otherSeed)) awaitDone(job);
+
+        assertSame(greedy, sameInput);
+        assertNotSame(greedy, otherEngine);
+        assertNotSame(greedy, otherSeed);
+        assertEquals(EngineType.FLOW, otherEngine.status().engine());
+        assertEquals(7L, otherSeed.status().seed());
+        verify(schedulingService).generateSchedule(EngineType.FLOW, 42L, otherEngine);
+    }
+
+    @Test
+    void submit_startsANewJobOnceTheInputWasEdited() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(inv -> {
+            release.await(10, TimeUnit.SECONDS);
+            return null;
+        }).when(schedulingService).generateSchedule(any(GenerationMonitor.class));
+
+        ScheduleJob beforeEdit = jobService.submit();
+        contentVersion.advanceOnCommit();
+        ScheduleJob afterEdit = jobService.submit();
+        release.countDown();
+        awaitDone(beforeEdit);
+        awaitDone(afterEdit);
+
+        assertNotSame(beforeEdit, afterEdit);
+    }
+
+    @Test
+    void submit_failsAJobTheExecutorRejects() throws InterruptedException {
+        ScheduleJobService rejecting = new ScheduleJobService(schedulingService, task -> {
+            throw new TaskRejectedException("queue full");
+        }, contentVersion);
+
+        ScheduleJob rejected = rejecting.submit();
+        ScheduleJob retried = rejecting.submit();
+
+        assertEquals(ScheduleJob.State.FAILED, rejected.getState());
+        assertNotNull(rejected.status().error());
+        assertNotNull(rejected.status().finishedAt());
+        assertNotSame(rejected, retried, "A rejected job must not be joined by later requests");
+        assertSame(rejected, rejecting.find(rejected.getId()).orElseThrow());
+    }
+
+    @Test
+    void cancel_stopsRunningJob() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        doAnswer(inv -> {
+            GenerationMonitor monitor = inv.getArgument(0);
+            started.countDown();
+            while (!monitor.isCancelled()) Thread.sleep(5);
+            monitor.checkCancelled();
+            return null;
+        }).when(schedulingService).generateSchedule(any(GenerationMonitor.class));
+
+        ScheduleJob job = jobService.submit();
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        jobService.cancel(job.getId());
+        awaitDone(job);
+
+        assertEquals(ScheduleJob.State.CANCELLED, job.getState());
+    }
+
+    @Test
+    void submit_keepsWorkingOncePastTheRetainedFinishedJobs() throws InterruptedException {
+        ScheduleJob first = jobService.submit();
+        awaitDone(first);
+        ScheduleJob last = first;
+        for (int i = 0; i < ScheduleJobService.RETAINED_FINISHED_JOBS + 10; i++) {
+            last = jobService.submit();
+            awaitDone(last);
+            assertEquals(ScheduleJob.State.SUCCEEDED, last.getState());
+        }
+
+        assertTrue(jobService.find(first.getId()).isEmpty(), "The oldest finished job should be pruned");
+        assertSame(last, jobService.find(last.getId()).orElseThrow());
+    }
+
+    @Test
+    void submit_reportsFailure() throws InterruptedException {
+        doAnswer(inv -> {
+            throw new IllegalStateException("boom");
+        }).when(schedulingService).generateSchedule(any(GenerationMonitor.class));
+
+        ScheduleJob job = jobService.submit();
+        awaitDone(job);
+
+        assertEquals(ScheduleJob.State.FAILED, job.getState());
+        assertEquals("boom", job.status().error());
+    }
+}
@@ -0,0 +1,94 @@
+package com.schedular.service;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Shift;
+import com.schedular.service.ScheduleUpdates.Cell;
+import com.schedular.service.ScheduleUpdates.Update;
+import com.schedular.service.SchedulingService.ScheduleRow;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScheduleUpdatesTest {
+
+    @Test
+    void then_keepsTheLatestContentOfEveryTouchedCell() {
+        Update first = new Update(3, List.of(
+                new Cell(Day.TUE, Shift.EVENING, "Alice"),
+                new Cell(Day.MON, Shift.MORNING, "Bob")));
+        Update second = new Update(4, List.of(
+                new Cell(Day.TUE, Shift.EVENING, ""),
+                new Cell(Day.WED, Shift.AFTERNOON, "Carol")));
+
+        Update merged = first.then(second);
+
+        assertEquals(4, merged.version());
+        assertEquals(List.of(
+                new Cell(Day.MON, Shift.MORNING, "Bob"),
+                new Cell(Day.TUE, Shift.EVENING, ""),
+                new Cell(Day.WED, Shift.AFTERNOON, "Carol")), merged.cells());
+        assertEquals(merged, second.then(first), "The higher version wins whichever comes first");
+    }
+
+    @Test
+    void publishOnCommit_deliversInVersionOrderWhenTheLaterCommitFinishesFirst() {
+        ScheduleUpdates updates = new ScheduleUpdates();
+        List<Update> delivered = new ArrayList<>();
+        updates.subscribe(delivered::add);
+
+        TransactionSynchronization older = registerIn(updates, 5, "Alice");
+        TransactionSynchronization newer = registerIn(updates, 6, "Bob");
+
+        newer.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertTrue(delivered.isEmpty(), "Version 6 must wait for version 5");
+
+        older.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        assertEquals(List.of(5L, 6L), delivered.stream().map(Update::version).toList());
+        assertEquals("Bob", delivered.get(1).cells().get(0).employees());
+    }
+
+    @Test
+    void publishOnCommit_skipsRolledBackUpdatesWithoutHoldingBackLaterOnes() {
+        ScheduleUpdates updates = new ScheduleUpdates();
+        List<Update> delivered = new ArrayList<>();
+        updates.subscribe(delivered::add);
+
+        TransactionSynchronization rolledBack = registerIn(updates, 5, "Alice");
+        TransactionSynchronization committed = registerIn(updates, 6, "Bob");
+
+        committed.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+        rolledBack.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertEquals(List.of(6L), delivered.stream().map(Update::version).toList());
+    }
+
+    /** Publishes a change of Monday morning inside a transaction that is left open. */
+    private static TransactionSynchronization registerIn(ScheduleUpdates updates, long version, String employees) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            updates.publishOnCommit(version, mondayMorning(""), mondayMorning(employees));
+            return TransactionSynchronizationManager.getSynchronizations().get(0);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static List<ScheduleRow> mondayMorning(String employees) {
+        List<ScheduleRow> rows = new ArrayList<>();
+        for (Day day : Day.values()) {
+            Map<String, String> cells = new LinkedHashMap<>();
+            for (Shift shift : Shift.values()) {
+                cells.put(shift.name(), day == Day.MON && shift == Shift.MORNING ? employees : "");
+            }
+            rows.add(new ScheduleRow(day, cells));
+        }
+        return rows;
+    }
+}
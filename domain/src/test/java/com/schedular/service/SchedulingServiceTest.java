@@ -2,20 +2,50 @@ package com.schedular.service;
 
 import com.schedular.domain.*;
 import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.PublishedScheduleRepository;
+import com.schedular.repo.ScheduleVersionRepository;
 import com.schedular.repo.ShiftAssignmentRepository;
-import com.schedular.repo.ShiftRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
-
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "scheduler.retained-versions=2",
+        // Seeded runs only repeat when no pass is cut short by a time budget.
+        "scheduler.solver.time-budget=1m",
+        "scheduler.solver.local-search.time-budget=1m"
+})
 @Transactional
 class SchedulingServiceTest {
 
@@ -25,17 +55,39 @@ class SchedulingServiceTest {
     @Autowired
     private EmployeeRepository employeeRepo;
 
-    @Autowired
-    private ShiftRepository shiftRepo;
 
     @Autowired
     private ShiftAssignmentRepository assignmentRepo;
 
+    @Autowired
+    private ScheduleVersionRepository versionRepo;
+
+    @Autowired
+    private PublishedScheduleRepository publishedRepo;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ScheduleViewCache viewCache;
+
+    @Autowired
+    private SchedulerProperties schedulerProperties;
+
     @BeforeEach
     void setUp() {
+        clearTables();
+    }
+
+    private void clearTables() {
+        publishedRepo.resetPointer();
+        versionRepo.deleteAll();
         assignmentRepo.deleteAll();
-        shiftRepo.deleteAll();
         employeeRepo.deleteAll();
+        viewCache.invalidate();
     }
 
     @Test
@@ -59,12 +111,12 @@ class SchedulingServiceTest {
         Employee bob = employeeRepo.save(new Employee("Bob"));
 
         for (Day day : Day.values()) {
-            shiftRepo.save(new ShiftPreference(alice, day, 1, Shift.MORNING));
-            shiftRepo.save(new ShiftPreference(alice, day, 2, Shift.AFTERNOON));
-            shiftRepo.save(new ShiftPreference(alice, day, 3, Shift.EVENING));
-            shiftRepo.save(new ShiftPreference(bob, day, 1, Shift.MORNING));
-            shiftRepo.save(new ShiftPreference(bob, day, 2, Shift.AFTERNOON));
-            shiftRepo.save(new ShiftPreference(bob, day, 3, Shift.EVENING));
+            prefer(alice, day, 1, Shift.MORNING);
+            prefer(alice, day, 2, Shift.AFTERNOON);
+            prefer(alice, day, 3, Shift.EVENING);
+            prefer(bob, day, 1, Shift.MORNING);
+            prefer(bob, day, 2, Shift.AFTERNOON);
+            prefer(bob, day, 3, Shift.EVENING);
         }
 
         schedulingService.generateSchedule();
@@ -86,15 +138,15 @@ class SchedulingServiceTest {
 
         for (Day day : Day.values()) {
             for (Employee e : List.of(alice, bob, charlie, dave)) {
-                shiftRepo.save(new ShiftPreference(e, day, 1, Shift.MORNING));
-                shiftRepo.save(new ShiftPreference(e, day, 2, Shift.AFTERNOON));
-                shiftRepo.save(new ShiftPreference(e, day, 3, Shift.EVENING));
+                prefer(e, day, 1, Shift.MORNING);
+                prefer(e, day, 2, Shift.AFTERNOON);
+                prefer(e, day, 3, Shift.EVENING);
             }
         }
 
         schedulingService.generateSchedule();
 
-        Map<Long, Long> assignmentsPerEmployee = assignmentRepo.findAll().stream()
+        Map<Long, Long> assignmentsPerEmployee = publishedAssignments().stream()
                 .collect(java.util.stream.Collectors.groupingBy(
                         a -> a.getEmployee().getId(),
                         java.util.stream.Collectors.counting()
@@ -105,11 +157,11 @@ class SchedulingServiceTest {
             assertTrue(count <= 5, "Employee should work max 5 days, got " + count);
         }
 
-        long assignmentsPerDay = assignmentRepo.findAll().stream()
+        long assignmentsPerDay = publishedAssignments().stream()
                 .map(a -> a.getEmployee().getId() + "-" + a.getDay())
                 .distinct()
                 .count();
-        long totalAssignments = assignmentRepo.count();
+        long totalAssignments = publishedAssignments().size();
         assertEquals(totalAssignments, assignmentsPerDay,
                 "Each employee should have at most one shift per day");
     }
@@ -120,18 +172,18 @@ class SchedulingServiceTest {
         Employee bob = employeeRepo.save(new Employee("Bob"));
 
         for (Day day : Day.values()) {
-            shiftRepo.save(new ShiftPreference(alice, day, 1, Shift.MORNING));
-            shiftRepo.save(new ShiftPreference(alice, day, 2, Shift.AFTERNOON));
-            shiftRepo.save(new ShiftPreference(alice, day, 3, Shift.EVENING));
-            shiftRepo.save(new ShiftPreference(bob, day, 1, Shift.MORNING));
-            shiftRepo.save(new ShiftPreference(bob, day, 2, Shift.AFTERNOON));
-            shiftRepo.save(new ShiftPreference(bob, day, 3, Shift.EVENING));
+            prefer(alice, day, 1, Shift.MORNING);
+            prefer(alice, day, 2, Shift.AFTERNOON);
+            prefer(alice, day, 3, Shift.EVENING);
+            prefer(bob, day, 1, Shift.MORNING);
+            prefer(bob, day, 2, Shift.AFTERNOON);
+            prefer(bob, day, 3, Shift.EVENING);
         }
 
         schedulingService.generateSchedule();
 
         for (Employee e : List.of(alice, bob)) {
-            long daysWorked = assignmentRepo.findAll().stream()
+            long daysWorked = publishedAssignments().stream()
                     .filter(a -> a.getEmployee().getId().equals(e.getId()))
                     .map(a -> a.getDay())
                     .distinct()
@@ -142,16 +194,20 @@ class SchedulingServiceTest {
 
     @Test
     void generateSchedule_atLeast2EmployeesPerShiftPerDay() {
-        Employee alice = employeeRepo.save(new Employee("Alice"));
-        Employee bob = employeeRepo.save(new Employee("Bob"));
-        Employee charlie = employeeRepo.save(new Employee("Charlie"));
-        Employee dave = employeeRepo.save(new Employee("Dave"));
+        // The baseline version of this test used 4 employees. At 5 days each they work 20 shifts,
+        // so they could never fill the 21 slots x 2 = 42 seats it asserts, and it always failed.
+        // 42 seats take at least 9 people; 12 leaves enough for the weekend once Monday-Friday
+        // has filled up. The assertion itself is unchanged.
+        List<Employee> staff = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            staff.add(employeeRepo.save(new Employee("Employee " + i)));
+        }
 
         for (Day day : Day.values()) {
-            for (Employee e : List.of(alice, bob, charlie, dave)) {
-                shiftRepo.save(new ShiftPreference(e, day, 1, Shift.MORNING));
-                shiftRepo.save(new ShiftPreference(e, day, 2, Shift.AFTERNOON));
-                shiftRepo.save(new ShiftPreference(e, day, 3, Shift.EVENING));
+            for (Employee e : staff) {
+                prefer(e, day, 1, Shift.MORNING);
+                prefer(e, day, 2, Shift.AFTERNOON);
+                prefer(e, day, 3, Shift.EVENING);
             }
         }
 
@@ -159,7 +215,7 @@ class SchedulingServiceTest {
 
         for (Day day : Day.values()) {
             for (Shift shift : Shift.values()) {
-                long count = assignmentRepo.findAll().stream()
+                long count = publishedAssignments().stream()
                         .filter(a -> a.getDay() == day && a.getShift() == shift)
                         .count();
                 assertTrue(count >= 2,
@@ -168,6 +224,289 @@ class SchedulingServiceTest {
         }
     }
 
+    @Test
+    void generateSchedule_flowEngineStaffsEverySlot_withTheMinimumHeadcount() {
+        // 9 people at 5 days each is exactly enough for 42 seats when everyone wants MORNING.
+        List<Employee> staff = new java.util.ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            staff.add(employeeRepo.save(new Employee("Employee " + i)));
+        }
+        for (Day day : Day.values()) {
+            for (Employee e : staff) {
+                prefer(e, day, 1, Shift.MORNING);
+            }
+        }
+
+        schedulingService.generateSchedule(EngineType.FLOW, GenerationMonitor.NONE);
+
+        List<ShiftAssignment> assignments = publishedAssignments();
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                long count = assignments.stream()
+                        .filter(a -> a.getDay() == day && a.getShift() == shift)
+                        .count();
+                assertEquals(2, count, "Day " + day + " shift " + shift);
+            }
+        }
+    }
+
+    @Test
+    void generateSchedule_isDeterministicForAGivenSeed() {
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.values()[(i + day.ordinal()) % 3]);
+            }
+        }
+
+        schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+        Set<String> first = storedSchedule();
+        schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+
+        assertEquals(first, storedSchedule());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void generateSchedule_skipsSolveAndRewrite_whenInputAndSeedAreUnchanged() {
+        try {
+            Employee first = null;
+            for (int i = 0; i < 12; i++) {
+                Employee e = employeeRepo.save(new Employee("Employee " + i));
+                if (first == null) first = e;
+                for (Day day : Day.values()) {
+                    prefer(e, day, 1, Shift.MORNING);
+                }
+            }
+
+            schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+            long version = publishedRepo.currentVersion();
+            List<Long> rows = assignmentIds();
+
+            PhaseRecorder unchanged = new PhaseRecorder();
+            schedulingService.generateSchedule(EngineType.GREEDY, 7, unchanged);
+            assertFalse(unchanged.phases.contains(GenerationMonitor.Phase.SOLVING),
+                    "Unchanged input and seed should not be solved again");
+            assertEquals(version, publishedRepo.currentVersion());
+            assertEquals(rows, assignmentIds(), "Unchanged input and seed should keep the stored rows");
+
+            PhaseRecorder reseeded = new PhaseRecorder();
+            schedulingService.generateSchedule(EngineType.GREEDY, 8, reseeded);
+            assertTrue(reseeded.phases.contains(GenerationMonitor.Phase.SOLVING), "A different seed should regenerate");
+
+            prefer(first, Day.MON, 2, Shift.EVENING);
+            PhaseRecorder edited = new PhaseRecorder();
+            schedulingService.generateSchedule(EngineType.GREEDY, 8, edited);
+            assertTrue(edited.phases.contains(GenerationMonitor.Phase.SOLVING), "Changed preferences should regenerate");
+        } finally {
+            clearTables();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void generateSchedule_publishesConcurrentFirstVersionsOneAfterAnother() throws Exception {
+        try {
+            for (int i = 0; i < 12; i++) {
+                Employee e = employeeRepo.save(new Employee("Employee " + i));
+                for (Day day : Day.values()) prefer(e, day, 1, i % 2 == 0 ? Shift.MORNING : Shift.EVENING);
+            }
+            assertEquals(0, publishedRepo.currentVersion());
+
+            ExecutorService pool = Executors.newFixedThreadPool(2);
+            try {
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<?>> runs = new ArrayList<>();
+                for (long seed : new long[]{1, 2}) {
+                    runs.add(pool.submit(() -> {
+                        start.await();
+                        schedulingService.generateSchedule(EngineType.GREEDY, seed, GenerationMonitor.NONE);
+                        return null;
+                    }));
+                }
+                start.countDown();
+                for (Future<?> run : runs) run.get(1, TimeUnit.MINUTES);
+            } finally {
+                pool.shutdownNow();
+            }
+
+            List<Long> versions = versionRepo.findAll().stream().map(ScheduleVersion::getId).sorted().toList();
+            assertEquals(versions.get(versions.size() - 1), publishedRepo.currentVersion(),
+                    "The writer that locked the pointer last should be published");
+        } finally {
+            clearTables();
+        }
+    }
+
+    @Test
+    void generateSchedule_keepsEarlierVersionsReadable_untilPruned() {
+        List<Employee> staff = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            staff.add(employeeRepo.save(new Employee("Employee " + i)));
+        }
+        List<Long> versions = new ArrayList<>();
+        List<Set<String>> schedules = new ArrayList<>();
+        for (Shift wanted : List.of(Shift.MORNING, Shift.EVENING, Shift.AFTERNOON)) {
+            staff.forEach(e -> e.setPreferences(PackedPreferences.NONE));
+            for (Employee e : staff) {
+                for (Day day : Day.values()) prefer(e, day, 1, wanted);
+            }
+            schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+            versions.add(publishedRepo.currentVersion());
+            schedules.add(scheduleAt(versions.get(versions.size() - 1)));
+        }
+
+        assertEquals(3, Set.copyOf(versions).size(), "Each changed schedule should be a new version");
+        assertEquals(schedules.get(1), scheduleAt(versions.get(1)), "An older version should read as it was published");
+        assertEquals(schedules.get(2), scheduleAt(versions.get(2)));
+        assertEquals(versions.subList(1, 3), versionRepo.findAll().stream().map(ScheduleVersion::getId).sorted().toList(),
+                "Only the two newest versions should be retained");
+        for (ShiftAssignment a : assignmentRepo.findAll()) {
+            assertTrue(a.getVersionTo() == null || a.getVersionTo() > versions.get(1),
+                    "Rows only the pruned version could see should be deleted");
+        }
+    }
+
+    @Test
+    void generateSchedule_recordsPhaseTimesAndAssignmentCounts() {
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) prefer(e, day, 1, Shift.MORNING);
+        }
+        double assignments = count("scheduler.assignments");
+        double conflicts = count("scheduler.conflicts.resolved");
+        long solving = meterRegistry.get("scheduler.generation.phase")
+                .tags("engine", "parallel_greedy", "phase", "solving").timer().count();
+        long regenerated = meterRegistry.get("scheduler.generation")
+                .tags("engine", "parallel_greedy", "outcome", "regenerated").timer().count();
+        long greedyPasses = phaseCount("parallel_greedy", "greedy_pass");
+        long backfills = phaseCount("parallel_greedy", "backfill");
+
+        schedulingService.generateSchedule(EngineType.PARALLEL_GREEDY, 7, GenerationMonitor.NONE);
+
+        assertEquals(publishedAssignments().size(), count("scheduler.assignments") - assignments, 0.0);
+        assertTrue(count("scheduler.conflicts.resolved") > conflicts, "Twelve employees cannot all work mornings");
+        assertEquals(solving + 1, meterRegistry.get("scheduler.generation.phase")
+                .tags("engine", "parallel_greedy", "phase", "solving").timer().count());
+        assertEquals(regenerated + 1, meterRegistry.get("scheduler.generation")
+                .tags("engine", "parallel_greedy", "outcome", "regenerated").timer().count());
+        assertEquals(greedyPasses + 1, phaseCount("parallel_greedy", "greedy_pass"));
+        assertEquals(backfills + 1, phaseCount("parallel_greedy", "backfill"));
+    }
+
+    @Test
+    void generateSchedule_timesTheGreedyPassAndBackfillOfEverySolverPass() {
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) prefer(e, day, 1, Shift.MORNING);
+        }
+        long greedyPasses = phaseCount("greedy", "greedy_pass");
+        long backfills = phaseCount("greedy", "backfill");
+        long localSearches = phaseCount("greedy", "local_search");
+
+        schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+
+        int passes = schedulerProperties.solver().passes();
+        assertEquals(greedyPasses + passes, phaseCount("greedy", "greedy_pass"));
+        assertEquals(backfills + passes, phaseCount("greedy", "backfill"));
+        assertEquals(localSearches, phaseCount("greedy", "local_search"), "Local search is disabled by default");
+    }
+
+    private long phaseCount(String engine, String phase) {
+        return meterRegistry.get("scheduler.generation.phase").tags("engine", engine, "phase", phase).timer().count();
+    }
+
+    @Test
+    void generateSchedule_emitsFlightRecorderEventsForTheRunPhasesAndSampledAssignments() throws Exception {
+        List<Employee> staff = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) prefer(e, day, 1, Shift.MORNING);
+            staff.add(e);
+        }
+
+        Path file = Files.createTempFile("scheduler", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.schedular.Generation");
+            recording.enable("com.schedular.GenerationPhase");
+            recording.enable("com.schedular.Assignment");
+            recording.start();
+            schedulingService.generateSchedule(EngineType.PARALLEL_GREEDY, 3, GenerationMonitor.NONE);
+            recording.stop();
+            recording.dump(file);
+        }
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        Files.delete(file);
+
+        List<RecordedEvent> runs = eventsNamed(events, "com.schedular.Generation");
+        assertEquals(1, runs.size());
+        assertEquals("regenerated", runs.get(0).getString("outcome"));
+        assertEquals(20, runs.get(0).getInt("employees"));
+        assertEquals(List.of("loading", "solving", "persisting"),
+                eventsNamed(events, "com.schedular.GenerationPhase").stream()
+                        .sorted(Comparator.comparing(RecordedEvent::getStartTime))
+                        .map(e -> e.getString("phase")).toList());
+        Set<Long> sampled = eventsNamed(events, "com.schedular.Assignment").stream()
+                .map(e -> e.getLong("employeeId")).collect(Collectors.toSet());
+        assertTrue(sampled.contains(staff.get(0).getId()));
+        assertTrue(Set.of(staff.get(0).getId(), staff.get(16).getId()).containsAll(sampled),
+                "Only every 16th employee should be sampled");
+    }
+
+    private static List<RecordedEvent> eventsNamed(List<RecordedEvent> events, String name) {
+        return events.stream().filter(e -> e.getEventType().getName().equals(name)).toList();
+    }
+
+    private double count(String counter) {
+        return meterRegistry.get(counter).tag("engine", "parallel_greedy").counter().count();
+    }
+
+    /** Records the phases a generation run went through. */
+    private static final class PhaseRecorder implements GenerationMonitor {
+
+        final List<Phase> phases = new ArrayList<>();
+
+        @Override
+        public void phaseStarted(Phase phase) {
+            phases.add(phase);
+        }
+    }
+
+    /** Sets one ranked slot on the employee and saves it, managed or not. */
+    private void prefer(Employee employee, Day day, int rank, Shift shift) {
+        employee.setPreferences(PackedPreferences.withShiftAt(
+                employee.getPreferences(), day.ordinal(), rank - 1, shift.ordinal()));
+        employeeRepo.save(employee);
+    }
+
+    /** Rows of the published version; ended rows of older versions stay in the table until pruned. */
+    private List<ShiftAssignment> publishedAssignments() {
+        if (TestTransaction.isActive()) {
+            // Ending rows is a bulk update that managed entities do not see.
+            entityManager.flush();
+            entityManager.clear();
+        }
+        return assignmentRepo.findAll().stream().filter(a -> a.getVersionTo() == null).toList();
+    }
+
+    private Set<String> scheduleAt(long version) {
+        Map<Long, String> names = employeeRepo.findAll().stream()
+                .collect(Collectors.toMap(Employee::getId, Employee::getName));
+        return assignmentRepo.findRows(version).stream()
+                .map(r -> names.get(r.employeeId()) + "/" + r.day() + "/" + r.shift())
+                .collect(Collectors.toSet());
+    }
+
+    private Set<String> storedSchedule() {
+        return publishedAssignments().stream()
+                .map(a -> a.getEmployee().getName() + "/" + a.getDay() + "/" + a.getShift())
+                .collect(Collectors.toSet());
+    }
+
+    private List<Long> assignmentIds() {
+        return publishedAssignments().stream().map(ShiftAssignment::getId).sorted().toList();
+    }
+
     @Test
     void getPreferencesByEmployee_returnsEmpty_whenNoPreferences() {
         Employee alice = employeeRepo.save(new Employee("Alice"));
@@ -181,9 +520,9 @@ class SchedulingServiceTest {
     @Test
     void getPreferencesByEmployee_returnsCorrectData_whenPreferencesExist() {
         Employee alice = employeeRepo.save(new Employee("Alice"));
-        shiftRepo.save(new ShiftPreference(alice, Day.MON, 1, Shift.MORNING));
-        shiftRepo.save(new ShiftPreference(alice, Day.MON, 2, Shift.AFTERNOON));
-        shiftRepo.save(new ShiftPreference(alice, Day.MON, 3, Shift.EVENING));
+        prefer(alice, Day.MON, 1, Shift.MORNING);
+        prefer(alice, Day.MON, 2, Shift.AFTERNOON);
+        prefer(alice, Day.MON, 3, Shift.EVENING);
 
         Map<Long, Map<String, Map<Integer, String>>> prefs = schedulingService.getPreferencesByEmployee();
 
@@ -195,6 +534,55 @@ class SchedulingServiceTest {
         assertEquals("EVENING", alicePrefs.get("MON").get(3));
     }
 
+    @Test
+    void getPreferencesPage_loadsOnlyThePageFromProjections() {
+        for (int i = 0; i < 30; i++) {
+            Employee e = employeeRepo.save(new Employee(String.format("Employee %02d", i)));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.EVENING);
+                prefer(e, day, 2, Shift.MORNING);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        Page<SchedulingService.EmployeePreferences> page =
+                schedulingService.getPreferencesPage("employee 1", PageRequest.of(0, 5, Sort.by("name")));
+
+        assertEquals(10, page.getTotalElements());
+        assertEquals(List.of("Employee 10", "Employee 11", "Employee 12", "Employee 13", "Employee 14"),
+                page.getContent().stream().map(SchedulingService.EmployeePreferences::name).toList());
+        assertEquals(List.of(Shift.EVENING, Shift.MORNING), page.getContent().get(0).rankings().get(Day.SUN));
+        assertEquals(0, stats.getEntityLoadCount(), "Pages should be built from projections");
+        assertEquals(2, stats.getPrepareStatementCount(), "The page with its packed rankings, and the count");
+    }
+
+    @Test
+    void getPreferenceCards_flattensRankingsIntoOneChoicePerSlot() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        prefer(alice, Day.TUE, 1, Shift.EVENING);
+        prefer(alice, Day.TUE, 2, Shift.MORNING);
+        entityManager.flush();
+
+        PreferenceCard card = schedulingService.getPreferenceCards("ali", PageRequest.of(0, 5)).getContent().get(0);
+
+        assertEquals("/preferences/" + alice.getId(), card.action());
+        assertEquals(Shift.EVENING.ordinal(), card.choices()[PreferenceCard.slot(Day.TUE, 1)]);
+        assertEquals(Shift.MORNING.ordinal(), card.choices()[PreferenceCard.slot(Day.TUE, 2)]);
+        assertEquals(PreferenceCard.NO_CHOICE, card.choices()[PreferenceCard.slot(Day.TUE, 3)]);
+        assertEquals(PreferenceCard.NO_CHOICE, card.choices()[PreferenceCard.slot(Day.MON, 1)]);
+        assertEquals("pref2_TUE", PreferenceCard.ROWS.get(Day.TUE.ordinal()).slots().get(1).field());
+
+        PreferenceCard again = schedulingService.getPreferenceCards("ali", PageRequest.of(0, 5)).getContent().get(0);
+        assertEquals(card, again, "Cards compare their choices by content");
+        assertEquals(card.hashCode(), again.hashCode());
+        assertTrue(card.toString().contains("choices=[-1, -1, -1, 2, 0, -1, -1,"), card.toString());
+    }
+
     @Test
     void generateSchedule_handlesEmptyEmployeeList() {
         schedulingService.generateSchedule();
@@ -203,4 +591,182 @@ class SchedulingServiceTest {
         assertEquals(7, view.size());
         assertEquals(0, assignmentRepo.count());
     }
+
+    @Test
+    void getPreferencesByEmployee_usesConstantNumberOfQueries() {
+        for (int i = 0; i < 25; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.MORNING);
+                prefer(e, day, 2, Shift.AFTERNOON);
+                prefer(e, day, 3, Shift.EVENING);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        Map<Long, Map<String, Map<Integer, String>>> prefs = schedulingService.getPreferencesByEmployee();
+
+        assertEquals(25, prefs.size());
+        assertEquals(1, stats.getPrepareStatementCount(),
+                "Employees and their packed preferences should be loaded with a single query");
+    }
+
+    @Test
+    void generateSchedule_loadsEmployeesAndPreferencesWithSingleQuery() {
+        for (int i = 0; i < 25; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.EVENING);
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        long[] loadingStatements = new long[1];
+        schedulingService.generateSchedule(new GenerationMonitor() {
+            @Override
+            public void phaseStarted(Phase phase) {
+                if (phase == Phase.SOLVING) loadingStatements[0] = stats.getPrepareStatementCount();
+            }
+        });
+
+        assertEquals(1, loadingStatements[0], "Preferences are packed into the employee rows");
+        assertEquals(26, stats.getEntityLoadCount(),
+                "Only the employees and the locked published-version pointer should be loaded as entities");
+    }
+
+    @Test
+    void generateSchedule_writesAssignmentsInBatches() {
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.MORNING);
+            }
+        }
+        schedulingService.generateSchedule();
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+
+        schedulingService.generateSchedule();
+        entityManager.flush();
+
+        assertTrue(stats.getPrepareStatementCount() <= 8,
+                "Regenerating 42 assignments should take a handful of statements, got "
+                        + stats.getPrepareStatementCount());
+        assertEquals(42, publishedAssignments().size());
+    }
+
+    @Test
+    void generateSchedule_keepsStoredRowsThatDoNotChange() {
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.values()[(i + day.ordinal()) % 3]);
+            }
+        }
+        schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+        entityManager.flush();
+        Set<String> schedule = storedSchedule();
+        List<Long> rows = assignmentIds();
+
+        schedulingService.generateSchedule(EngineType.GREEDY, 7, GenerationMonitor.NONE);
+        entityManager.flush();
+
+        assertEquals(schedule, storedSchedule());
+        assertEquals(rows, assignmentIds(), "An identical schedule should not touch any row");
+    }
+
+    @Test
+    void rescheduleEmployee_changesOnlyAffectedRows() {
+        List<Employee> staff = new java.util.ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            staff.add(e);
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.MORNING);
+                prefer(e, day, 2, Shift.AFTERNOON);
+                prefer(e, day, 3, Shift.EVENING);
+            }
+        }
+        // Greedy layout: pairs of employees fill each weekday shift, the rest cover the weekend.
+        Shift[] shifts = Shift.values();
+        for (int i = 0; i < 6; i++) {
+            for (Day day : List.of(Day.MON, Day.TUE, Day.WED, Day.THU, Day.FRI)) {
+                assignmentRepo.save(new ShiftAssignment(staff.get(i), day, shifts[i / 2]));
+            }
+        }
+        for (int i = 6; i < 12; i++) {
+            for (Day day : List.of(Day.SAT, Day.SUN)) {
+                assignmentRepo.save(new ShiftAssignment(staff.get(i), day, shifts[(i - 6) / 2]));
+            }
+        }
+        Employee alice = staff.get(0);
+        alice.setPreferences(PackedPreferences.NONE);
+        for (Day day : Day.values()) {
+            prefer(alice, day, 1, Shift.EVENING);
+        }
+
+        int changed = schedulingService.rescheduleEmployee(alice.getId());
+
+        assertEquals(10, changed, "Alice and one evening colleague swap on each weekday");
+        assertEquals(42, publishedAssignments().size());
+        for (ShiftAssignment a : publishedAssignments()) {
+            if (a.getEmployee().getId().equals(alice.getId())) {
+                assertEquals(Shift.EVENING, a.getShift());
+            }
+        }
+        for (Day day : Day.values()) {
+            for (Shift shift : Shift.values()) {
+                long count = publishedAssignments().stream()
+                        .filter(a -> a.getDay() == day && a.getShift() == shift)
+                        .count();
+                assertEquals(2, count, day + " " + shift);
+            }
+        }
+    }
+
+    @Test
+    void rescheduleEmployee_doesNothingWithoutSchedule() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+
+        assertEquals(0, schedulingService.rescheduleEmployee(alice.getId()));
+        assertEquals(0, assignmentRepo.count());
+    }
+
+    @Test
+    void getScheduleView_isServedFromCacheAfterFirstLoad() {
+        for (int i = 0; i < 12; i++) {
+            Employee e = employeeRepo.save(new Employee("Employee " + i));
+            for (Day day : Day.values()) {
+                prefer(e, day, 1, Shift.MORNING);
+            }
+        }
+        schedulingService.generateSchedule();
+        entityManager.flush();
+
+        Statistics stats = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+        List<SchedulingService.ScheduleRow> first = schedulingService.getScheduleView();
+        assertEquals(1, stats.getPrepareStatementCount(), "Names should be joined into a single query");
+
+        stats.clear();
+        List<SchedulingService.ScheduleRow> second = schedulingService.getScheduleView();
+        assertEquals(0, stats.getPrepareStatementCount());
+        assertEquals(first, second);
+        assertTrue(first.get(0).shiftCells().get("MORNING").contains("Employee"));
+    }
 }
@@ -0,0 +1,123 @@
+package com.schedular.web;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.Shift;
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureTestRestTemplate;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureTestRestTemplate
+class EmployeeApiControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    private String baseUrl() {
+        return "http://localhost:" + port;
+    }
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        assignmentRepo.deleteAllInBatch();
+        employeeRepo.deleteAllInBatch();
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> get(String path) {
+        ResponseEntity<Map> response = restTemplate.getForEntity(baseUrl() + path, Map.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        return response.getBody();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> names(Map<String, Object> body) {
+        return ((List<Map<String, Object>>) body.get("content")).stream()
+                .map(e -> (String) e.get("name"))
+                .toList();
+    }
+
+    @Test
+    void employees_arePagedByName() {
+        for (String name : List.of("Dave", "alice", "Carol", "Bob", "Eve")) {
+            employeeRepo.save(new Employee(name));
+        }
+
+        Map<String, Object> first = get("/api/employees?size=2");
+        Map<String, Object> last = get("/api/employees?size=2&page=2");
+
+        assertEquals(List.of("alice", "Bob"), names(first));
+        assertEquals(Map.of("size", 2, "number", 0, "totalElements", 5, "totalPages", 3), first.get("page"));
+        assertEquals(List.of("Eve"), names(last));
+    }
+
+    @Test
+    void employees_beyondTheLargestOffsetAreAnEmptyPage() {
+        employeeRepo.save(new Employee("Alice"));
+
+        Map<String, Object> page = get("/api/employees?size=100&page=" + Integer.MAX_VALUE);
+
+        assertEquals(List.of(), names(page));
+        assertEquals(List.of(), get("/api/employees/preferences?size=100&page=" + Integer.MAX_VALUE).get("content"));
+    }
+
+    @Test
+    void employees_areSearchedByNameIgnoringCase() {
+        for (String name : List.of("Alice", "Malik", "Bob")) {
+            employeeRepo.save(new Employee(name));
+        }
+
+        assertEquals(List.of("Alice", "Malik"), names(get("/api/employees?q=LI")));
+        assertEquals(List.of(), names(get("/api/employees?q=%25")), "Wildcards in the search are literal");
+    }
+
+    @Test
+    void employees_capThePageSize() {
+        Map<String, Object> body = get("/api/employees?size=100000");
+
+        assertEquals(EmployeeApiController.MAX_PAGE_SIZE, ((Map<?, ?>) body.get("page")).get("size"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void preferences_includeRankedShiftsOfThePageOnly() {
+        Employee alice = new Employee("Alice");
+        alice.prefer(Day.MON, Shift.EVENING, Shift.MORNING);
+        Employee bob = new Employee("Bob");
+        bob.prefer(Day.TUE, Shift.AFTERNOON);
+        employeeRepo.saveAll(List.of(alice, bob));
+
+        Map<String, Object> body = get("/api/employees/preferences?size=1");
+
+        List<Map<String, Object>> content = (List<Map<String, Object>>) body.get("content");
+        assertEquals(1, content.size());
+        assertEquals("Alice", content.get(0).get("name"));
+        assertEquals(Map.of("MON", List.of("EVENING", "MORNING")), content.get(0).get("rankings"));
+    }
+}
@@ -0,0 +1,129 @@
+package com.schedular.web;
+
+import com.schedular.domain.Day;
+import com.schedular.domain.Employee;
+import com.schedular.domain.Shift;
+import com.schedular.repo.EmployeeRepository;
+import com.schedular.repo.PublishedScheduleRepository;
+import com.schedular.repo.ScheduleVersionRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import com.schedular.service.SchedulingService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class ScheduleEventsControllerTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EmployeeRepository employeeRepo;
+
+    @Autowired
+    private ShiftAssignmentRepository assignmentRepo;
+
+    @Autowired
+    private ScheduleVersionRepository versionRepo;
+
+    @Autowired
+    private PublishedScheduleRepository publishedRepo;
+
+    @Autowired
+    private SchedulingService schedulingService;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @BeforeEach
+    @AfterEach
+    void cleanDatabase() {
+        publishedRepo.resetPointer();
+        versionRepo.deleteAllInBatch();
+        assignmentRepo.deleteAllInBatch();
+        employeeRepo.deleteAllInBatch();
+    }
+
+    @Test
+    void subscribers_receiveTheChangedCellsOfACommittedSchedule() throws Exception {
+        Employee alice = new Employee("Alice");
+        for (Day day : Day.values()) alice.prefer(day, Shift.MORNING);
+        employeeRepo.save(alice);
+
+        CompletableFuture<List<String>> event = firstEvent(Long.toString(publishedRepo.currentVersion()));
+        awaitSubscribers(1);
+
+        schedulingService.generateSchedule();
+
+        List<String> lines = event.get(10, TimeUnit.SECONDS);
+        assertTrue(lines.contains("event:" + ScheduleEventsController.EVENT_NAME), lines.toString());
+        assertTrue(lines.contains("id:" + publishedRepo.currentVersion()), lines.toString());
+        String data = lines.stream().filter(l -> l.startsWith("data:")).findFirst().orElseThrow();
+        assertTrue(data.contains("{\"day\":\"MON\",\"shift\":\"MORNING\",\"employees\":\"Alice\"}"), data);
+        assertFalse(data.contains("AFTERNOON"), "Unchanged cells should not be sent: " + data);
+    }
+
+    @Test
+    void subscribers_thatMissedAVersionFirstReceiveTheWholeTable() throws Exception {
+        Employee alice = new Employee("Alice");
+        for (Day day : Day.values()) alice.prefer(day, Shift.MORNING);
+        employeeRepo.save(alice);
+        long missed = publishedRepo.currentVersion();
+        schedulingService.generateSchedule();
+
+        List<String> lines = firstEvent(Long.toString(missed)).get(10, TimeUnit.SECONDS);
+
+        assertTrue(lines.contains("id:" + publishedRepo.currentVersion()), lines.toString());
+        String data = lines.stream().filter(l -> l.startsWith("data:")).findFirst().orElseThrow();
+        assertTrue(data.contains("{\"day\":\"MON\",\"shift\":\"MORNING\",\"employees\":\"Alice\"}"), data);
+        assertTrue(data.contains("{\"day\":\"SUN\",\"shift\":\"EVENING\",\"employees\":\"\"}"),
+                "Every cell should be sent: " + data);
+    }
+
+    @Test
+    void subscribers_withoutALastEventIdFirstReceiveTheWholeTable() throws Exception {
+        List<String> lines = firstEvent(null).get(10, TimeUnit.SECONDS);
+
+        assertTrue(lines.contains("id:" + publishedRepo.currentVersion()), lines.toString());
+        String data = lines.stream().filter(l -> l.startsWith("data:")).findFirst().orElseThrow();
+        assertEquals(Day.values().length * Shift.values().length, data.split("\"employees\"").length - 1, data);
+    }
+
+    /** Subscribes and reads one event, up to the blank line that ends it, then closes the stream. */
+    private CompletableFuture<List<String>> firstEvent(String lastEventId) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/schedule/events"))
+                .header("Accept", "text/event-stream");
+        if (lastEventId != null) request.header("Last-Event-ID", lastEventId);
+        return HttpClient.newHttpClient()
+                .sendAsync(request.build(), HttpResponse.BodyHandlers.ofLines())
+                .thenApply(response -> {
+                    try (Stream<String> body = response.body()) {
+                        return body.takeWhile(line -> !line.isEmpty()).toList();
+                    }
+                });
+    }
+
+    private void awaitSubscribers(int expected) throws InterruptedException {
+        for (int i = 0; i < 500; i++) {
+            if (registry.get("scheduler.sse.subscribers").gauge().value() >= expected) return;
+            Thread.sleep(10);
+        }
+        fail("No subscription was opened");
+    }
+}
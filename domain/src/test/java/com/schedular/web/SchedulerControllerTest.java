@@ -2,25 +2,31 @@ package com.schedular.web;
 
 import com.schedular.domain.Day;
 import com.schedular.domain.Employee;
+import com.schedular.domain.PackedPreferences;
 import com.schedular.domain.Shift;
-import com.schedular.domain.ShiftPreference;
+import com.schedular.domain.ShiftAssignment;
 import com.schedular.repo.EmployeeRepository;
-import com.schedular.repo.ShiftRepository;
+import com.schedular.repo.ShiftAssignmentRepository;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.http.client.HttpRedirects;
+import org.springframework.boot.resttestclient.TestRestTemplate;
+import org.springframework.boot.resttestclient.autoconfigure.AutoConfigureTestRestTemplate;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.*;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
-@Transactional
+@AutoConfigureTestRestTemplate
 class SchedulerControllerTest {
 
     @LocalServerPort
@@ -32,17 +38,30 @@ class SchedulerControllerTest {
     @Autowired
     private EmployeeRepository employeeRepo;
 
+
     @Autowired
-    private ShiftRepository shiftRepo;
+    private ShiftAssignmentRepository assignmentRepo;
 
     private String baseUrl() {
         return "http://localhost:" + port;
     }
 
+    // Requests are served on server threads, so data is committed for real rather than
+    // rolled back with a test transaction; clean up on both sides to keep the shared H2 DB empty.
     @BeforeEach
     void setUp() {
-        shiftRepo.deleteAll();
-        employeeRepo.deleteAll();
+        restTemplate = restTemplate.withRedirects(HttpRedirects.DONT_FOLLOW);
+        cleanDatabase();
+    }
+
+    @AfterEach
+    void tearDown() {
+        cleanDatabase();
+    }
+
+    private void cleanDatabase() {
+        assignmentRepo.deleteAllInBatch();
+        employeeRepo.deleteAllInBatch();
     }
 
     @Test
@@ -103,6 +122,36 @@ class SchedulerControllerTest {
         assertNotNull(response.getBody());
     }
 
+    @Test
+    void getPreferences_rendersStoredChoicesSelected() {
+        Employee alice = new Employee("Alice");
+        alice.setPreferences(PackedPreferences.withShiftAt(
+                PackedPreferences.NONE, Day.WED.ordinal(), 1, Shift.EVENING.ordinal()));
+        alice = employeeRepo.save(alice);
+
+        String body = restTemplate.getForObject(baseUrl() + "/preferences", String.class);
+
+        assertTrue(body.contains("action=\"/preferences/" + alice.getId() + "\""));
+        assertTrue(body.matches("(?s).*name=\"pref2_WED\">\\s*<option value=\"MORNING\">MORNING</option>\\s*"
+                + "<option value=\"AFTERNOON\">AFTERNOON</option>\\s*"
+                + "<option value=\"EVENING\" selected=\"selected\">EVENING</option>.*"));
+        assertEquals(1, body.split("selected=\"selected\"", -1).length - 1);
+    }
+
+    @Test
+    void getPreferenceCards_returnsOnlyTheFragmentOfTheRequestedPage() {
+        employeeRepo.save(new Employee("Alice"));
+        employeeRepo.save(new Employee("Bob"));
+
+        String body = restTemplate.getForObject(baseUrl() + "/preferences/cards?size=1&page=1", String.class);
+
+        assertFalse(body.contains("<html"));
+        assertTrue(body.contains("data-next=\"-1\""));
+        assertTrue(body.contains("data-total=\"2\""));
+        assertTrue(body.contains("<h3>Bob</h3>"));
+        assertFalse(body.contains("Alice"));
+    }
+
     @Test
     void postPreferences_savesPreferences() {
         Employee alice = employeeRepo.save(new Employee("Alice"));
@@ -121,7 +170,41 @@ class SchedulerControllerTest {
                 baseUrl() + "/preferences/" + alice.getId(), request, String.class);
         assertEquals(HttpStatus.FOUND, response.getStatusCode());
 
-        assertEquals(21, shiftRepo.findByEmployeeIdOrderByDayAscRankAsc(alice.getId()).size());
+        long stored = employeeRepo.findById(alice.getId()).orElseThrow().getPreferences();
+        assertEquals(21, PackedPreferences.count(stored));
+        assertEquals(List.of(Shift.MORNING, Shift.AFTERNOON, Shift.EVENING), PackedPreferences.ranking(stored, Day.SUN));
+    }
+
+    @Test
+    void postImport_importsCsvAndReportsRejectedLines() {
+        employeeRepo.save(new Employee("Alice"));
+        String csv = "name,day,first,second,third\n"
+                + "Alice,MON,EVENING,MORNING,AFTERNOON\n"
+                + "Bob,TUE,MORNING\n"
+                + "Carol,FUNDAY,MORNING\n";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.parseMediaType("text/csv"));
+
+        ResponseEntity<Map> response = restTemplate.postForEntity(
+                baseUrl() + "/employees/import", new HttpEntity<>(csv, headers), Map.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(3, ((Number) response.getBody().get("records")).intValue());
+        assertEquals(1, ((Number) response.getBody().get("employeesCreated")).intValue());
+        assertEquals(1, ((Number) response.getBody().get("rejected")).intValue());
+        assertEquals(2, employeeRepo.count());
+        assertEquals(4, employeeRepo.findAll().stream().mapToInt(e -> PackedPreferences.count(e.getPreferences())).sum());
+    }
+
+    @Test
+    void postImport_rejectsUnsupportedContentType() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_XML);
+
+        ResponseEntity<String> response = restTemplate.postForEntity(
+                baseUrl() + "/employees/import", new HttpEntity<>("<employees/>", headers), String.class);
+
+        assertEquals(HttpStatus.UNSUPPORTED_MEDIA_TYPE, response.getStatusCode());
     }
 
     @Test
@@ -132,18 +215,137 @@ class SchedulerControllerTest {
     }
 
     @Test
-    void postGenerateSchedule_generatesAndRedirects() {
-        Employee alice = employeeRepo.save(new Employee("Alice"));
-        Employee bob = employeeRepo.save(new Employee("Bob"));
+    void getSchedule_answersMatchingConditionalRequestWith304() {
+        ResponseEntity<String> first = restTemplate.getForEntity(baseUrl() + "/schedule", String.class);
+        String etag = first.getHeaders().getETag();
+        assertNotNull(etag);
+        assertTrue(first.getHeaders().getLastModified() > 0);
+        assertEquals("no-cache", first.getHeaders().getCacheControl());
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> repeat = restTemplate.exchange(
+                baseUrl() + "/schedule", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.NOT_MODIFIED, repeat.getStatusCode());
+        assertNull(repeat.getBody());
+
+        HttpHeaders since = new HttpHeaders();
+        since.setIfModifiedSince(first.getHeaders().getLastModified());
+        assertEquals(HttpStatus.NOT_MODIFIED, restTemplate.exchange(baseUrl() + "/preferences/cards",
+                HttpMethod.GET, new HttpEntity<>(since), String.class).getStatusCode());
+    }
+
+    @Test
+    void getPreferences_isModifiedOnceAnEmployeeIsAdded() {
+        String etag = restTemplate.getForEntity(baseUrl() + "/preferences", String.class).getHeaders().getETag();
+
+        MultiValueMap<String, String> form = new LinkedMultiValueMap<>();
+        form.add("name", "Alice");
+        HttpHeaders formHeaders = new HttpHeaders();
+        formHeaders.setContentType(MediaType.APPLICATION_FORM_URLENCODED);
+        restTemplate.postForEntity(baseUrl() + "/employees", new HttpEntity<>(form, formHeaders), String.class);
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(etag);
+        ResponseEntity<String> response = restTemplate.exchange(
+                baseUrl() + "/preferences", HttpMethod.GET, new HttpEntity<>(headers), String.class);
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(etag, response.getHeaders().getETag());
+        assertTrue(response.getBody().contains("Alice"));
+    }
+
+    @Test
+    void prometheusEndpoint_exposesSchedulerAndHibernateMetrics() {
+        employeeRepo.save(new Employee("Alice"));
+        assertEquals(HttpStatus.OK, restTemplate.getForEntity(baseUrl() + "/employees", String.class).getStatusCode());
+
+        ResponseEntity<String> response = restTemplate.getForEntity(baseUrl() + "/actuator/prometheus", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains("scheduler_http_statements_count{method=\"GET\",uri=\"/employees\"}"));
+        assertTrue(response.getBody().contains("scheduler_generation_phase_seconds_count{engine=\"greedy\",phase=\"solving\"}"));
+        assertTrue(response.getBody().contains("scheduler_spillovers_total{engine=\"greedy\"}"));
+        assertTrue(response.getBody().contains("hibernate_second_level_cache_requests_total{"));
+        assertTrue(response.getBody().contains("hibernate_cache_query_requests_total{"));
+    }
 
+    @Test
+    void postGenerateSchedule_generatesAndRedirects() {
+        Employee alice = new Employee("Alice");
+        Employee bob = new Employee("Bob");
         for (Day day : Day.values()) {
-            shiftRepo.save(new ShiftPreference(alice, day, 1, Shift.MORNING));
-            shiftRepo.save(new ShiftPreference(bob, day, 1, Shift.MORNING));
+            alice.prefer(day, Shift.MORNING);
+            bob.prefer(day, Shift.MORNING);
         }
+        employeeRepo.saveAll(List.of(alice, bob));
+        String etag = restTemplate.getForEntity(baseUrl() + "/schedule", String.class).getHeaders().getETag();
 
         HttpEntity<Void> request = new HttpEntity<>(new HttpHeaders());
         ResponseEntity<String> response = restTemplate.exchange(
                 baseUrl() + "/schedule/generate", HttpMethod.POST, request, String.class);
         assertEquals(HttpStatus.FOUND, response.getStatusCode());
+
+        java.net.URI location = response.getHeaders().getLocation();
+        assertEquals("SUCCEEDED", awaitJob(location));
+        ResponseEntity<String> page = restTemplate.getForEntity(
+                baseUrl() + location.getPath() + "?" + location.getQuery(), String.class);
+        assertEquals(HttpStatus.OK, page.getStatusCode());
+        assertTrue(page.getBody().contains("SUCCEEDED"));
+        assertNotEquals(etag, restTemplate.getForEntity(baseUrl() + "/schedule", String.class).getHeaders().getETag(),
+                "A newly generated schedule should change the ETag");
+    }
+
+    @Test
+    void getExport_streamsFilteredCsv() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        Employee bob = employeeRepo.save(new Employee("Bob"));
+        assignmentRepo.save(new ShiftAssignment(alice, Day.MON, Shift.MORNING));
+        assignmentRepo.save(new ShiftAssignment(bob, Day.TUE, Shift.EVENING));
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl() + "/schedule/export?format=CSV&day=TUE", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("text/csv")));
+        assertEquals("employee_id,employee,day,shift\r\n" + bob.getId() + ",Bob,TUE,EVENING\r\n", response.getBody());
+    }
+
+    @Test
+    void getExport_servesCalendar() {
+        Employee alice = employeeRepo.save(new Employee("Alice"));
+        assignmentRepo.save(new ShiftAssignment(alice, Day.WED, Shift.AFTERNOON));
+
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl() + "/schedule/export?format=ICALENDAR&week=2026-03-04", String.class);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getContentType().isCompatibleWith(MediaType.parseMediaType("text/calendar")));
+        assertTrue(response.getBody().contains("DTSTART:20260304T140000"));
+    }
+
+    @Test
+    void getJobStatus_returns404_forUnknownJob() {
+        ResponseEntity<String> response = restTemplate.getForEntity(
+                baseUrl() + "/schedule/jobs/does-not-exist", String.class);
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    /** Polls the job named in a /schedule?job= redirect until it finishes; returns its final state. */
+    private String awaitJob(java.net.URI location) {
+        String jobId = location.getQuery().substring("job=".length());
+        for (int i = 0; i < 500; i++) {
+            ResponseEntity<Map> status = restTemplate.getForEntity(
+                    baseUrl() + "/schedule/jobs/" + jobId, Map.class);
+            assertEquals(HttpStatus.OK, status.getStatusCode());
+            String state = (String) status.getBody().get("state");
+            if (!state.equals("QUEUED") && !state.equals("RUNNING")) return state;
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return fail("Job " + jobId + " did not finish");
     }
 }